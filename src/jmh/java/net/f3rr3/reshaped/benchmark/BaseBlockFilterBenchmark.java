@@ -0,0 +1,56 @@
+package net.f3rr3.reshaped.benchmark;
+
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.f3rr3.reshaped.matrix.BaseBlockFilter;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base-candidate classification: a single pass of {@link BaseBlockFilter#isBaseCandidate} over
+ * every registered block, and the full sequential vs. parallel {@code collectBaseCandidates}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseBlockFilterBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int blockCount;
+
+    private List<Block> blocks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticRegistry.populate(blockCount);
+        blocks = new ArrayList<>(Registries.BLOCK.size());
+        for (Block block : Registries.BLOCK) {
+            blocks.add(block);
+        }
+    }
+
+    @Benchmark
+    public void isBaseCandidate(Blackhole blackhole) {
+        for (Block block : blocks) {
+            blackhole.consume(BaseBlockFilter.isBaseCandidate(block));
+        }
+    }
+
+    @Benchmark
+    public Set<Block> collectSequential() {
+        return BaseBlockFilter.collectBaseCandidates(false);
+    }
+
+    @Benchmark
+    public Set<Block> collectParallel() {
+        return BaseBlockFilter.collectBaseCandidates(true);
+    }
+}
@@ -0,0 +1,115 @@
+package net.f3rr3.reshaped.benchmark;
+
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.f3rr3.reshaped.matrix.BlockMatrix;
+import net.minecraft.block.Block;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot publication ({@link BlockMatrix#refresh}) and the read path used by placement and
+ * rendering ({@link BlockMatrix#getColumn}, {@link BlockMatrix#areInSameColumn}).
+ * The {@code *HashMap} variants replay the previous map-based lookups as a baseline for the
+ * raw-ID index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockMatrixBenchmark {
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "10000", "50000"})
+    public int blockCount;
+
+    private BlockMatrix matrix;
+    private Block[] first;
+    private Block[] second;
+    private Map<Block, List<Block>> columnByBlock;
+    private Map<Block, Block> variantToBase;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticRegistry registry = SyntheticRegistry.populate(blockCount);
+        matrix = new BlockMatrix();
+        for (int i = 0; i < registry.bases.size(); i++) {
+            List<Block> variants = new ArrayList<>();
+            variants.add(registry.slabs.get(i));
+            variants.add(registry.stairs.get(i));
+            matrix.addColumn(registry.bases.get(i), variants, false);
+        }
+        matrix.refresh();
+
+        columnByBlock = new HashMap<>();
+        variantToBase = new HashMap<>();
+        for (Map.Entry<Block, List<Block>> entry : matrix.getMatrix().entrySet()) {
+            columnByBlock.put(entry.getKey(), matrix.getColumn(entry.getKey()));
+            for (Block variant : entry.getValue()) {
+                columnByBlock.put(variant, matrix.getColumn(variant));
+                variantToBase.put(variant, entry.getKey());
+            }
+        }
+
+        // Pairs are drawn from all three blocks of random columns, so roughly a third share a column.
+        List<Block> all = new ArrayList<>(registry.bases);
+        all.addAll(registry.slabs);
+        all.addAll(registry.stairs);
+        Random random = new Random(42);
+        first = new Block[LOOKUPS];
+        second = new Block[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            first[i] = all.get(random.nextInt(all.size()));
+            second[i] = random.nextInt(3) == 0
+                    ? matrix.getColumn(first[i]).get(random.nextInt(3))
+                    : all.get(random.nextInt(all.size()));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void refresh() {
+        matrix.refresh();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getColumn(Blackhole blackhole) {
+        for (Block block : first) {
+            blackhole.consume(matrix.getColumn(block));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void areInSameColumn(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(matrix.areInSameColumn(first[i], second[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getColumnHashMap(Blackhole blackhole) {
+        for (Block block : first) {
+            blackhole.consume(columnByBlock.getOrDefault(block, Collections.emptyList()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void areInSameColumnHashMap(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            Block firstBase = resolveBase(first[i]);
+            blackhole.consume(firstBase != null && firstBase == resolveBase(second[i]));
+        }
+    }
+
+    private Block resolveBase(Block block) {
+        return matrix.getMatrix().containsKey(block) ? block : variantToBase.get(block);
+    }
+}
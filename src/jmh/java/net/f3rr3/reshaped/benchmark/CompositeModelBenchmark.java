@@ -0,0 +1,248 @@
+package net.f3rr3.reshaped.benchmark;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.block.BlockSegmentUtils;
+import net.f3rr3.reshaped.block.Corner.CornerBlock;
+import net.f3rr3.reshaped.block.Corner.CornerBlockEntity;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
+import net.f3rr3.reshaped.client.render.CompositeBakedModel;
+import net.f3rr3.reshaped.client.render.SegmentModelCache;
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.render.model.json.ModelOverrideList;
+import net.minecraft.client.render.model.json.ModelTransformation;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.registry.Registries;
+import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.BlockRenderView;
+import net.minecraft.world.biome.ColorResolver;
+import net.minecraft.world.chunk.light.LightingProvider;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link CompositeBakedModel#emitBlockQuads} for a corner block during meshing, against stub
+ * segment models that only count emissions.
+ * <p>
+ * {@code emitBlockQuads} goes through {@link SegmentModelCache}; {@code emitBlockQuadsUncached}
+ * replays the previous per-segment model ID build and model manager lookup as a baseline.
+ * {@code mixed} renders a mixed corner with a different material per segment, {@code unmixed} a
+ * full single-material corner.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompositeModelBenchmark {
+    private static final Supplier<Random> RANDOM = Random::create;
+
+    @Param({"mixed", "unmixed"})
+    public String block;
+
+    private final CountingModel segmentModel = new CountingModel();
+    private final CountingModel missingModel = new CountingModel();
+    private final Map<Identifier, BakedModel> modelsById = new HashMap<>();
+
+    private CompositeBakedModel model;
+    private BlockState state;
+    private StubView view;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticRegistry.bootstrap();
+        Block[] materials = new Block[8];
+        for (int i = 0; i < materials.length; i++) {
+            materials[i] = SyntheticRegistry.registerBlock("bench_model_" + i + "_corner", new CornerBlock(AbstractBlock.Settings.create()));
+            String path = "bench_model_" + i;
+            for (int segment = 0; segment < 8; segment++) {
+                modelsById.put(new Identifier(Reshaped.MOD_ID, "block/" + path + "_corner_" + SegmentOccupancy.maskString(1 << segment, 8)), segmentModel);
+            }
+        }
+
+        SegmentModelCache cache = new SegmentModelCache(new SegmentModelCache.ModelSource() {
+            @Override
+            public BakedModel missingModel() {
+                return missingModel;
+            }
+
+            @Override
+            public BakedModel getModel(Identifier modelId) {
+                return modelsById.getOrDefault(modelId, missingModel);
+            }
+
+            @Override
+            public BakedModel getModel(BlockState blockState) {
+                return missingModel;
+            }
+        });
+        model = new CompositeBakedModel(missingModel, cache);
+
+        CornerBlockEntity blockEntity = null;
+        if (block.equals("mixed")) {
+            state = Reshaped.MIXED_CORNER.getDefaultState();
+            blockEntity = new CornerBlockEntity(BlockPos.ORIGIN, state);
+            for (int i = 0; i < materials.length; i++) {
+                blockEntity.setMaterial(i, Registries.BLOCK.getId(materials[i]));
+            }
+        } else {
+            state = materials[0].getDefaultState();
+        }
+        for (BooleanProperty property : BlockSegmentUtils.CORNER_PROPERTIES) {
+            state = state.with(property, true);
+        }
+        view = new StubView(state, blockEntity);
+    }
+
+    @Benchmark
+    public int emitBlockQuads() {
+        segmentModel.emitted = 0;
+        model.emitBlockQuads(view, state, BlockPos.ORIGIN, RANDOM, null);
+        return segmentModel.emitted;
+    }
+
+    @Benchmark
+    public int emitBlockQuadsUncached() {
+        segmentModel.emitted = 0;
+        BlockEntity blockEntity = view.getBlockEntity(BlockPos.ORIGIN);
+        CornerBlockEntity corner = blockEntity instanceof CornerBlockEntity entity ? entity : null;
+        int occupancy = SegmentOccupancy.mask(state);
+        for (int i = 0; i < 8; i++) {
+            if (!SegmentOccupancy.isSet(occupancy, i)) continue;
+            Identifier materialId = corner != null ? corner.getCornerMaterial(i) : Registries.BLOCK.getId(state.getBlock());
+            String path = materialId.getPath();
+            if (path.endsWith("_corner")) {
+                path = path.substring(0, path.length() - "_corner".length());
+            }
+            Identifier segmentModelId = new Identifier(Reshaped.MOD_ID, "block/" + path + "_corner_" + SegmentOccupancy.maskString(1 << i, 8));
+            BakedModel segment = modelsById.getOrDefault(segmentModelId, missingModel);
+            if (segment != missingModel) {
+                segment.emitBlockQuads(view, state, BlockPos.ORIGIN, RANDOM, null);
+            }
+        }
+        return segmentModel.emitted;
+    }
+
+    /**
+     * Segment model stand-in; emitting just counts the call.
+     */
+    private static final class CountingModel implements BakedModel {
+        int emitted;
+
+        @Override
+        public boolean isVanillaAdapter() {
+            return false;
+        }
+
+        @Override
+        public void emitBlockQuads(BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
+            emitted++;
+        }
+
+        @Override
+        public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction face, Random random) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean useAmbientOcclusion() {
+            return true;
+        }
+
+        @Override
+        public boolean hasDepth() {
+            return false;
+        }
+
+        @Override
+        public boolean isSideLit() {
+            return true;
+        }
+
+        @Override
+        public boolean isBuiltin() {
+            return false;
+        }
+
+        @Override
+        public Sprite getParticleSprite() {
+            return null;
+        }
+
+        @Override
+        public ModelTransformation getTransformation() {
+            return ModelTransformation.NONE;
+        }
+
+        @Override
+        public ModelOverrideList getOverrides() {
+            return ModelOverrideList.EMPTY;
+        }
+    }
+
+    /**
+     * A one-block world holding the benchmarked state and its block entity at the origin.
+     */
+    private record StubView(BlockState state, @Nullable BlockEntity blockEntity) implements BlockRenderView {
+        @Override
+        public float getBrightness(Direction direction, boolean shaded) {
+            return 1.0f;
+        }
+
+        @Override
+        public LightingProvider getLightingProvider() {
+            return null;
+        }
+
+        @Override
+        public int getColor(BlockPos pos, ColorResolver colorResolver) {
+            return -1;
+        }
+
+        @Nullable
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return pos.equals(BlockPos.ORIGIN) ? blockEntity : null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            return pos.equals(BlockPos.ORIGIN) ? state : Blocks.AIR.getDefaultState();
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public int getHeight() {
+            return 384;
+        }
+
+        @Override
+        public int getBottomY() {
+            return -64;
+        }
+    }
+}
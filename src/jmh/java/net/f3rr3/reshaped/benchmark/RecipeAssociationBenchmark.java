@@ -0,0 +1,47 @@
+package net.f3rr3.reshaped.benchmark;
+
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.f3rr3.reshaped.matrix.RecipeAssociationService;
+import net.minecraft.block.Block;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.registry.DynamicRegistryManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full recipe analysis over three synthetic recipes (stonecutting, slab, stairs) per base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeAssociationBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int blockCount;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private List<Recipe<?>> recipes;
+    private Set<Block> baseCandidates;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticRegistry registry = SyntheticRegistry.populate(blockCount);
+        recipes = registry.recipes;
+        baseCandidates = new HashSet<>(registry.bases);
+    }
+
+    @Benchmark
+    public Map<Block, RecipeAssociationService.Association> buildAssociations() {
+        return RecipeAssociationService.buildAssociationIndex(recipes, DynamicRegistryManager.EMPTY,
+                baseCandidates, null, parallel).associations();
+    }
+}
@@ -0,0 +1,257 @@
+package net.f3rr3.reshaped.benchmark;
+
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import it.unimi.dsi.fastutil.shorts.ShortSets;
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.block.Corner.CornerBlock;
+import net.f3rr3.reshaped.block.Corner.CornerBlockEntity;
+import net.f3rr3.reshaped.block.Slab.SlabBlockEntity;
+import net.f3rr3.reshaped.block.Step.StepBlock;
+import net.f3rr3.reshaped.block.Step.StepBlockEntity;
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.f3rr3.reshaped.interaction.SegmentEditEngine;
+import net.f3rr3.reshaped.interaction.SegmentSyncService;
+import net.fabricmc.fabric.api.object.builder.v1.block.entity.FabricBlockEntityTypeBuilder;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockEntityProvider;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.entity.Entity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.ModifiableWorld;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side segment edits as issued by the use and break handlers in
+ * {@code BlockInteractionService}: {@link SegmentEditEngine#place} and
+ * {@link SegmentEditEngine#breakSegment} against a one-block stand-in world, so the state change
+ * and the block entity write are part of every op.
+ * <p>
+ * Each shape runs a fixed cycle: an unmixed block with one segment of material A gets every other
+ * segment placed with alternating materials B and A (the first placement mixes the block), then
+ * loses them again in reverse until it collapses back to the unmixed block. One benchmark op is
+ * one place or break.
+ * <p>
+ * {@code edit} measures the edit alone; run with {@code -prof gc} for allocations per op
+ * ({@code gc.alloc.rate.norm}). {@code editWithSync} also builds the targeted resync packets with
+ * {@link SegmentSyncService#buildTargetedPackets} and encodes them once per watching player, as
+ * each player's connection does. Its {@code syncBytes} counter divided by the op rate gives
+ * network bytes per op (over all watchers, without packet framing).
+ * <p>
+ * The stand-in world keeps the block entity lifecycle of a chunk (create, keep or drop it on a
+ * state change) but no lighting, heightmaps or neighbour updates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SegmentEditBenchmark {
+    @Param({"corner", "step", "slab"})
+    public String shape;
+
+    @Param({"1", "8"})
+    public int watchers;
+
+    private Op[] script;
+    private int cursor;
+    private StandInWorld world;
+    private final ChunkSectionPos sectionPos = ChunkSectionPos.from(BlockPos.ORIGIN);
+    private final ShortSet positions = ShortSets.singleton(ChunkSectionPos.packLocal(BlockPos.ORIGIN));
+
+    private record Op(boolean place, BooleanProperty property, Block material) {
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Traffic {
+        public long syncBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            syncBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        registerMixedBlockEntities();
+        Block first;
+        Block second;
+        switch (shape) {
+            case "corner" -> {
+                first = SyntheticRegistry.registerBlock("bench_edit_corner_a", new CornerBlock(AbstractBlock.Settings.create()));
+                second = SyntheticRegistry.registerBlock("bench_edit_corner_b", new CornerBlock(AbstractBlock.Settings.create()));
+            }
+            case "step" -> {
+                first = SyntheticRegistry.registerBlock("bench_edit_step_a", new StepBlock(AbstractBlock.Settings.create()));
+                second = SyntheticRegistry.registerBlock("bench_edit_step_b", new StepBlock(AbstractBlock.Settings.create()));
+            }
+            case "slab" -> {
+                first = SyntheticRegistry.registerBlock("bench_edit_slab_a", new SlabBlock(AbstractBlock.Settings.create()));
+                second = SyntheticRegistry.registerBlock("bench_edit_slab_b", new SlabBlock(AbstractBlock.Settings.create()));
+            }
+            default -> throw new IllegalArgumentException(shape);
+        }
+
+        SegmentEditEngine.Shape descriptor = SegmentEditEngine.shapeOf(first);
+        BooleanProperty[] properties = descriptor.properties();
+
+        // Start state: the unmixed block holding only segment 0, built the same way a collapse builds it.
+        BlockState single = descriptor.mixedBlock().getDefaultState();
+        for (BooleanProperty property : properties) {
+            single = single.with(property, false);
+        }
+        world = new StandInWorld(descriptor.toUnmixed().apply(single.with(properties[0], true), first));
+
+        List<Op> ops = new ArrayList<>();
+        for (int i = 1; i < properties.length; i++) {
+            ops.add(new Op(true, properties[i], i % 2 == 1 ? second : first));
+        }
+        for (int i = properties.length - 1; i >= 1; i--) {
+            ops.add(new Op(false, properties[i], null));
+        }
+        script = ops.toArray(new Op[0]);
+    }
+
+    @Benchmark
+    public BlockState edit() {
+        return next();
+    }
+
+    @Benchmark
+    public BlockState editWithSync(Traffic traffic) {
+        BlockState state = next();
+        List<Packet<?>> packets = SegmentSyncService.buildTargetedPackets(world, null, sectionPos, positions);
+        for (int watcher = 0; watcher < watchers; watcher++) {
+            for (Packet<?> packet : packets) {
+                traffic.syncBytes += SegmentSyncService.sizeOf(packet);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Registers the mixed block entity types as {@code Reshaped.onInitialize} does, so their
+     * update packets can be encoded.
+     */
+    private static synchronized void registerMixedBlockEntities() {
+        SyntheticRegistry.bootstrap();
+        if (Reshaped.CORNER_BLOCK_ENTITY != null) return;
+        Reshaped.CORNER_BLOCK_ENTITY = registerBlockEntity("corner_block_entity",
+                FabricBlockEntityTypeBuilder.create(CornerBlockEntity::new, Reshaped.MIXED_CORNER).build(null));
+        CornerBlockEntity.TYPE = Reshaped.CORNER_BLOCK_ENTITY;
+        Reshaped.STEP_BLOCK_ENTITY = registerBlockEntity("step_block_entity",
+                FabricBlockEntityTypeBuilder.create(StepBlockEntity::new, Reshaped.MIXED_STEP).build(null));
+        StepBlockEntity.TYPE = Reshaped.STEP_BLOCK_ENTITY;
+        Reshaped.SLAB_BLOCK_ENTITY = registerBlockEntity("slab_block_entity",
+                FabricBlockEntityTypeBuilder.create(SlabBlockEntity::new, Reshaped.MIXED_SLAB).build(null));
+        SlabBlockEntity.TYPE = Reshaped.SLAB_BLOCK_ENTITY;
+    }
+
+    private static <T extends BlockEntity> BlockEntityType<T> registerBlockEntity(String path, BlockEntityType<T> type) {
+        return Registry.register(Registries.BLOCK_ENTITY_TYPE, new Identifier(Reshaped.MOD_ID, path), type);
+    }
+
+    private BlockState next() {
+        Op op = script[cursor];
+        cursor = cursor + 1 == script.length ? 0 : cursor + 1;
+
+        BlockState state = world.getBlockState(BlockPos.ORIGIN);
+        if (op.place()) {
+            SegmentEditEngine.place(world, BlockPos.ORIGIN, state, op.property(), op.material());
+        } else {
+            SegmentEditEngine.breakSegment(world, BlockPos.ORIGIN, state, op.property());
+        }
+        return world.getBlockState(BlockPos.ORIGIN);
+    }
+
+    /**
+     * A one-block world at the origin. Block entities are created, kept or dropped on a state
+     * change the way {@code WorldChunk.setBlockState} does it.
+     */
+    private static final class StandInWorld implements ModifiableWorld, BlockView {
+        private BlockState state;
+        @Nullable
+        private BlockEntity blockEntity;
+
+        private StandInWorld(BlockState state) {
+            this.state = state;
+        }
+
+        @Override
+        public boolean setBlockState(BlockPos pos, BlockState newState, int flags, int maxUpdateDepth) {
+            if (!pos.equals(BlockPos.ORIGIN) || newState == state) {
+                return false;
+            }
+            state = newState;
+            if (!newState.hasBlockEntity()) {
+                blockEntity = null;
+            } else if (blockEntity != null && blockEntity.getType().supports(newState)) {
+                blockEntity.setCachedState(newState);
+            } else {
+                blockEntity = ((BlockEntityProvider) newState.getBlock()).createBlockEntity(pos, newState);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean removeBlock(BlockPos pos, boolean move) {
+            return setBlockState(pos, Blocks.AIR.getDefaultState(), 3);
+        }
+
+        @Override
+        public boolean breakBlock(BlockPos pos, boolean drop, @Nullable Entity breakingEntity, int maxUpdateDepth) {
+            return setBlockState(pos, Blocks.AIR.getDefaultState(), 3, maxUpdateDepth);
+        }
+
+        @Override
+        public boolean spawnEntity(Entity entity) {
+            return false;
+        }
+
+        @Nullable
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return pos.equals(BlockPos.ORIGIN) ? blockEntity : null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            return pos.equals(BlockPos.ORIGIN) ? state : Blocks.AIR.getDefaultState();
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public int getHeight() {
+            return 384;
+        }
+
+        @Override
+        public int getBottomY() {
+            return -64;
+        }
+    }
+}
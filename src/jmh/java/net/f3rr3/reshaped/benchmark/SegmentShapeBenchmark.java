@@ -0,0 +1,100 @@
+package net.f3rr3.reshaped.benchmark;
+
+import net.f3rr3.reshaped.block.BlockSegmentUtils;
+import net.f3rr3.reshaped.block.Corner.CornerBlock;
+import net.f3rr3.reshaped.block.Step.StepBlock;
+import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.util.shape.VoxelShapes;
+import net.minecraft.world.EmptyBlockView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outline-shape queries over every state of the corner, step and vertical step blocks.
+ * {@code outlineShape} goes through the precomputed mask tables; {@code unionShape} replays the
+ * previous per-call {@code VoxelShapes.union} build as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SegmentShapeBenchmark {
+    @Param({"corner", "step", "vertical_step"})
+    public String block;
+
+    private BlockState[] states;
+    private BooleanProperty[] properties;
+    private VoxelShape[] segments;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticRegistry.bootstrap();
+        Block target = switch (block) {
+            case "corner" -> new CornerBlock(AbstractBlock.Settings.create());
+            case "step" -> new StepBlock(AbstractBlock.Settings.create());
+            case "vertical_step" -> new VerticalStepBlock(AbstractBlock.Settings.create());
+            default -> throw new IllegalArgumentException(block);
+        };
+        List<BlockState> all = new ArrayList<>(target.getStateManager().getStates());
+        states = all.toArray(new BlockState[0]);
+
+        if (target instanceof CornerBlock) {
+            properties = BlockSegmentUtils.CORNER_PROPERTIES;
+            segments = new VoxelShape[]{
+                    BlockSegmentUtils.CORNER_DOWN_NW, BlockSegmentUtils.CORNER_DOWN_NE,
+                    BlockSegmentUtils.CORNER_DOWN_SW, BlockSegmentUtils.CORNER_DOWN_SE,
+                    BlockSegmentUtils.CORNER_UP_NW, BlockSegmentUtils.CORNER_UP_NE,
+                    BlockSegmentUtils.CORNER_UP_SW, BlockSegmentUtils.CORNER_UP_SE};
+        } else if (target instanceof StepBlock) {
+            properties = BlockSegmentUtils.STEP_PROPERTIES;
+        } else {
+            properties = BlockSegmentUtils.VERTICAL_STEP_PROPERTIES;
+            segments = new VoxelShape[]{
+                    BlockSegmentUtils.VSTEP_NW, BlockSegmentUtils.VSTEP_NE,
+                    BlockSegmentUtils.VSTEP_SW, BlockSegmentUtils.VSTEP_SE};
+        }
+    }
+
+    @Benchmark
+    public void outlineShape(Blackhole blackhole) {
+        for (BlockState state : states) {
+            blackhole.consume(state.getOutlineShape(EmptyBlockView.INSTANCE, BlockPos.ORIGIN));
+        }
+    }
+
+    @Benchmark
+    public void unionShape(Blackhole blackhole) {
+        for (BlockState state : states) {
+            blackhole.consume(unionShape(state));
+        }
+    }
+
+    private VoxelShape unionShape(BlockState state) {
+        VoxelShape shape = VoxelShapes.empty();
+        for (int i = 0; i < properties.length; i++) {
+            if (!state.get(properties[i])) continue;
+            VoxelShape segment;
+            if (segments != null) {
+                segment = segments[i];
+            } else {
+                // STEP_PROPERTIES order: DOWN_FRONT, DOWN_BACK, UP_FRONT, UP_BACK
+                segment = BlockSegmentUtils.getStepShape(state.get(StepBlock.AXIS), i % 2 == 0, i < 2);
+            }
+            shape = VoxelShapes.union(shape, segment);
+        }
+        return shape.isEmpty() ? VoxelShapes.fullCube() : shape;
+    }
+}
@@ -0,0 +1,51 @@
+package net.f3rr3.reshaped.benchmark;
+
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.f3rr3.reshaped.matrix.BlockMatrix;
+import net.f3rr3.reshaped.registry.VariantCompleter;
+import net.minecraft.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link VariantCompleter#completeVariant} for one base whose slab and stairs already
+ * exist in the registry, i.e. the adopt path taken for most modded bases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VariantCompleterBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int blockCount;
+
+    private List<Block> bases;
+    private BlockMatrix matrix;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bases = SyntheticRegistry.populate(blockCount).bases;
+        matrix = new BlockMatrix();
+        for (Block base : bases) {
+            matrix.addColumn(base, new ArrayList<>(), false);
+        }
+        VariantCompleter.rebuildIndex();
+    }
+
+    @Benchmark
+    public List<Block> completeVariant() {
+        Block base = bases.get(next);
+        next = next + 1 == bases.size() ? 0 : next + 1;
+
+        List<Block> variants = matrix.getMutableMatrix().get(base);
+        variants.clear();
+        VariantCompleter.completeVariant(base, matrix);
+        return variants;
+    }
+}
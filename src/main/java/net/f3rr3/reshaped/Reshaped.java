@@ -13,6 +13,7 @@ import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlockEntity;
 import net.f3rr3.reshaped.command.MatrixCommand;
 import net.f3rr3.reshaped.config.server.ServerConfig;
 import net.f3rr3.reshaped.interaction.BlockInteractionService;
+import net.f3rr3.reshaped.interaction.SegmentSyncService;
 import net.f3rr3.reshaped.matrix.BlockMatrix;
 import net.f3rr3.reshaped.matrix.BlockRegistryScanner;
 import net.f3rr3.reshaped.matrix.MatrixRebuilder;
@@ -121,6 +122,7 @@ public class Reshaped implements ModInitializer {
         NetworkHandler.registerServerReceivers();
 
         BlockInteractionService.register();
+        SegmentSyncService.register();
 
         // Primary bootstrap: Catch all blocks already in the registry.
         // If some modded blocks haven't registered yet, they will be caught by 
@@ -54,6 +54,23 @@ public class BlockSegmentUtils {
     public static final VoxelShape VSTEP_SW = Block.createCuboidShape(0, 0, 8, 8, 16, 16);
     public static final VoxelShape VSTEP_SE = Block.createCuboidShape(8, 0, 8, 16, 16, 16);
 
+    // Precomputed shapes, indexed by occupancy mask: bit i is set when the i-th property of
+    // CORNER_PROPERTIES / VERTICAL_STEP_PROPERTIES / STEP_PROPERTIES is true.
+    // getOutlineShape runs for raycasts, collision and culling, so the unions are built once here.
+    private static final VoxelShape[] CORNER_SHAPES = buildShapeTable(
+            CORNER_DOWN_NW, CORNER_DOWN_NE, CORNER_DOWN_SW, CORNER_DOWN_SE,
+            CORNER_UP_NW, CORNER_UP_NE, CORNER_UP_SW, CORNER_UP_SE);
+    private static final VoxelShape[] VERTICAL_STEP_SHAPES = buildShapeTable(VSTEP_NW, VSTEP_NE, VSTEP_SW, VSTEP_SE);
+    private static final VoxelShape[][] STEP_SHAPES = new VoxelShape[StepBlock.StepAxis.values().length][];
+
+    static {
+        for (StepBlock.StepAxis axis : StepBlock.StepAxis.values()) {
+            STEP_SHAPES[axis.ordinal()] = buildShapeTable(
+                    getStepShape(axis, true, true), getStepShape(axis, false, true),
+                    getStepShape(axis, true, false), getStepShape(axis, false, false));
+        }
+    }
+
     /**
      * Common hit detection logic for quadrant-based blocks.
      * Extracts logic used in VerticalStepBlock and CornerBlock.
@@ -134,45 +151,42 @@ public class BlockSegmentUtils {
     }
 
     public static VoxelShape buildStepShape(BlockState state) {
-        StepBlock.StepAxis axis = state.get(StepBlock.AXIS);
-        VoxelShape shape = VoxelShapes.empty();
-
-        if (state.get(StepBlock.DOWN_FRONT)) shape = VoxelShapes.union(shape, getStepShape(axis, true, true));
-        if (state.get(StepBlock.DOWN_BACK)) shape = VoxelShapes.union(shape, getStepShape(axis, false, true));
-        if (state.get(StepBlock.UP_FRONT)) shape = VoxelShapes.union(shape, getStepShape(axis, true, false));
-        if (state.get(StepBlock.UP_BACK)) shape = VoxelShapes.union(shape, getStepShape(axis, false, false));
-
-        return shape.isEmpty() ? VoxelShapes.fullCube() : shape;
+        return STEP_SHAPES[state.get(StepBlock.AXIS).ordinal()][SegmentOccupancy.mask(state)];
     }
 
     public static VoxelShape buildVerticalStepShape(BlockState state) {
-        VoxelShape shape = VoxelShapes.empty();
-        if (state.get(VerticalStepBlock.NORTH_WEST)) shape = VoxelShapes.union(shape, VSTEP_NW);
-        if (state.get(VerticalStepBlock.NORTH_EAST)) shape = VoxelShapes.union(shape, VSTEP_NE);
-        if (state.get(VerticalStepBlock.SOUTH_WEST)) shape = VoxelShapes.union(shape, VSTEP_SW);
-        if (state.get(VerticalStepBlock.SOUTH_EAST)) shape = VoxelShapes.union(shape, VSTEP_SE);
-        return shape.isEmpty() ? VoxelShapes.fullCube() : shape;
+        return VERTICAL_STEP_SHAPES[SegmentOccupancy.mask(state)];
     }
 
     public static VoxelShape buildCornerShape(BlockState state) {
-        VoxelShape shape = VoxelShapes.empty();
-        if (state.get(CornerBlock.DOWN_NW)) shape = VoxelShapes.union(shape, CORNER_DOWN_NW);
-        if (state.get(CornerBlock.DOWN_NE)) shape = VoxelShapes.union(shape, CORNER_DOWN_NE);
-        if (state.get(CornerBlock.DOWN_SW)) shape = VoxelShapes.union(shape, CORNER_DOWN_SW);
-        if (state.get(CornerBlock.DOWN_SE)) shape = VoxelShapes.union(shape, CORNER_DOWN_SE);
-        if (state.get(CornerBlock.UP_NW)) shape = VoxelShapes.union(shape, CORNER_UP_NW);
-        if (state.get(CornerBlock.UP_NE)) shape = VoxelShapes.union(shape, CORNER_UP_NE);
-        if (state.get(CornerBlock.UP_SW)) shape = VoxelShapes.union(shape, CORNER_UP_SW);
-        if (state.get(CornerBlock.UP_SE)) shape = VoxelShapes.union(shape, CORNER_UP_SE);
-        return shape.isEmpty() ? VoxelShapes.fullCube() : shape;
+        return CORNER_SHAPES[SegmentOccupancy.mask(state)];
+    }
+
+    /**
+     * Unions the given segment shapes for every occupancy mask. An empty mask maps to a full
+     * cube, matching the fallback for states that have no segment set.
+     */
+    private static VoxelShape[] buildShapeTable(VoxelShape... segments) {
+        VoxelShape[] shapes = new VoxelShape[1 << segments.length];
+        for (int mask = 0; mask < shapes.length; mask++) {
+            VoxelShape shape = VoxelShapes.empty();
+            for (int i = 0; i < segments.length; i++) {
+                if ((mask & (1 << i)) != 0) shape = VoxelShapes.union(shape, segments[i]);
+            }
+            shapes[mask] = shape.isEmpty() ? VoxelShapes.fullCube() : shape;
+        }
+        return shapes;
     }
 
     public static void fillMissingMaterials(MixedBlockEntity blockEntity, BlockState state, BooleanProperty[] properties, Identifier materialId) {
+        int mask = SegmentOccupancy.mask(state);
+        int missing = 0;
         for (int i = 0; i < properties.length; i++) {
-            if (state.get(properties[i]) && blockEntity.getMaterial(i) == null) {
-                blockEntity.setMaterial(i, materialId);
+            if (SegmentOccupancy.isSet(mask, i) && blockEntity.getMaterial(i) == null) {
+                missing |= 1 << i;
             }
         }
+        blockEntity.setMaterials(missing, materialId);
     }
 
     public static void fillMissingMaterialsFromItem(ItemStack itemStack, MixedBlockEntity blockEntity, BlockState state, BooleanProperty[] properties) {
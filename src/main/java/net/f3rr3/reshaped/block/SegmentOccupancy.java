@@ -0,0 +1,112 @@
+package net.f3rr3.reshaped.block;
+
+import net.f3rr3.reshaped.block.Corner.CornerBlock;
+import net.f3rr3.reshaped.block.Corner.MixedCornerBlock;
+import net.f3rr3.reshaped.block.Slab.MixedSlabBlock;
+import net.f3rr3.reshaped.block.Step.MixedStepBlock;
+import net.f3rr3.reshaped.block.Step.StepBlock;
+import net.f3rr3.reshaped.block.VerticalSlab.MixedVerticalSlabBlock;
+import net.f3rr3.reshaped.block.VerticalStep.MixedVerticalStepBlock;
+import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.state.property.BooleanProperty;
+
+/**
+ * Segment occupancy of reshaped block states as an int bitmask.
+ * <p>
+ * Bit {@code i} is set when the i-th segment property of the block is true, using the same
+ * index order as {@link BlockSegmentUtils#CORNER_PROPERTIES}, {@link BlockSegmentUtils#STEP_PROPERTIES},
+ * {@link BlockSegmentUtils#VERTICAL_STEP_PROPERTIES}, {@link #SLAB_PROPERTIES} and
+ * {@link #VERTICAL_SLAB_PROPERTIES} (and the material slots of the mixed block entities).
+ * The mask is computed once per state and stored on the state itself, so reading it is a
+ * field load instead of a property lookup per segment.
+ */
+public final class SegmentOccupancy {
+    public static final BooleanProperty[] SLAB_PROPERTIES = {MixedSlabBlock.BOTTOM, MixedSlabBlock.TOP};
+    public static final BooleanProperty[] VERTICAL_SLAB_PROPERTIES = {MixedVerticalSlabBlock.NEGATIVE, MixedVerticalSlabBlock.POSITIVE};
+
+    private static final BooleanProperty[] NO_PROPERTIES = {};
+
+    // Model-name masks: character i is '1' when segment i is set, e.g. corner segment 0 -> "10000000".
+    private static final String[] MASK_STRINGS_4 = buildMaskStrings(4);
+    private static final String[] MASK_STRINGS_8 = buildMaskStrings(8);
+
+    private SegmentOccupancy() {
+    }
+
+    /**
+     * Segment properties of {@code block} in mask order, or an empty array for blocks without segments.
+     */
+    public static BooleanProperty[] propertiesFor(Block block) {
+        if (block instanceof CornerBlock || block instanceof MixedCornerBlock) {
+            return BlockSegmentUtils.CORNER_PROPERTIES;
+        }
+        if (block instanceof StepBlock || block instanceof MixedStepBlock) {
+            return BlockSegmentUtils.STEP_PROPERTIES;
+        }
+        if (block instanceof VerticalStepBlock || block instanceof MixedVerticalStepBlock) {
+            return BlockSegmentUtils.VERTICAL_STEP_PROPERTIES;
+        }
+        if (block instanceof MixedSlabBlock) {
+            return SLAB_PROPERTIES;
+        }
+        if (block instanceof MixedVerticalSlabBlock) {
+            return VERTICAL_SLAB_PROPERTIES;
+        }
+        return NO_PROPERTIES;
+    }
+
+    /**
+     * Occupancy mask of {@code state}; 0 for states without segments.
+     */
+    public static int mask(BlockState state) {
+        // States only lack the holder when the mixins are not applied (e.g. the JMH benchmarks).
+        if (!(state instanceof SegmentOccupancyHolder holder)) {
+            return computeMask(state);
+        }
+        int stored = holder.reshaped$getOccupancy();
+        if (stored == 0) {
+            stored = computeMask(state) + 1;
+            holder.reshaped$setOccupancy(stored);
+        }
+        return stored - 1;
+    }
+
+    public static int count(BlockState state) {
+        return Integer.bitCount(mask(state));
+    }
+
+    public static boolean isSet(int mask, int index) {
+        return (mask & (1 << index)) != 0;
+    }
+
+    /**
+     * The {@code segments}-character model-name mask of {@code mask}, character i for bit i.
+     * Only 4 and 8 segments are used by segment model names.
+     */
+    public static String maskString(int mask, int segments) {
+        return segments == 8 ? MASK_STRINGS_8[mask] : MASK_STRINGS_4[mask];
+    }
+
+    private static int computeMask(BlockState state) {
+        BooleanProperty[] properties = propertiesFor(state.getBlock());
+        int mask = 0;
+        for (int i = 0; i < properties.length; i++) {
+            if (state.get(properties[i])) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    private static String[] buildMaskStrings(int segments) {
+        String[] strings = new String[1 << segments];
+        char[] chars = new char[segments];
+        for (int mask = 0; mask < strings.length; mask++) {
+            for (int i = 0; i < segments; i++) {
+                chars[i] = isSet(mask, i) ? '1' : '0';
+            }
+            strings[mask] = new String(chars);
+        }
+        return strings;
+    }
+}
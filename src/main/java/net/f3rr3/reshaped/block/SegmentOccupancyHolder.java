@@ -0,0 +1,11 @@
+package net.f3rr3.reshaped.block;
+
+/**
+ * Implemented on every block state by {@code AbstractBlockStateMixin}; see {@link SegmentOccupancy}.
+ * The stored value is the occupancy mask plus one, so 0 means "not computed yet".
+ */
+public interface SegmentOccupancyHolder {
+    int reshaped$getOccupancy();
+
+    void reshaped$setOccupancy(int occupancy);
+}
@@ -1,5 +1,7 @@
 package net.f3rr3.reshaped.block.Slab;
 
+import net.f3rr3.reshaped.block.BlockSegmentUtils;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
 import net.f3rr3.reshaped.block.Template.ReshapedBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEntityProvider;
@@ -82,11 +84,8 @@ public class MixedSlabBlock extends ReshapedBlock implements BlockEntityProvider
             BlockEntity be = world.getBlockEntity(pos);
             if (be instanceof SlabBlockEntity sbe) {
                 if (itemStack.getItem() instanceof BlockItem blockItem) {
-                    Block block = blockItem.getBlock();
-
-                    if (state.get(BOTTOM) && sbe.getMaterial(0) == null)
-                        sbe.setMaterial(0, Registries.BLOCK.getId(block));
-                    if (state.get(TOP) && sbe.getMaterial(1) == null) sbe.setMaterial(1, Registries.BLOCK.getId(block));
+                    BlockSegmentUtils.fillMissingMaterials(sbe, state, SegmentOccupancy.SLAB_PROPERTIES,
+                            Registries.BLOCK.getId(blockItem.getBlock()));
                 }
             }
         }
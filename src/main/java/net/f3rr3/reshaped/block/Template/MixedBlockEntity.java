@@ -4,19 +4,31 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
 import net.minecraft.nbt.NbtString;
 import net.minecraft.network.listener.ClientPlayPacketListener;
 import net.minecraft.network.packet.Packet;
 import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
+import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
 /**
  * Base class for block entities that store material identifiers for mixed blocks.
  * Consolidates common NBT serialization and network sync logic.
  */
 public abstract class MixedBlockEntity extends BlockEntity {
+    private static final String LEGACY_MATERIALS_KEY = "Materials";
+    private static final String PALETTE_KEY = "Palette";
+    private static final String SYNC_PALETTE_KEY = "RawPalette";
+    private static final String SEGMENTS_KEY = "Segments";
+
     private final Identifier[] materials;
 
     protected MixedBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state, int materialCount) {
@@ -26,12 +38,49 @@ public abstract class MixedBlockEntity extends BlockEntity {
 
     public void setMaterial(int index, Identifier materialId) {
         if (index >= 0 && index < materials.length) {
-            materials[index] = materialId;
-            markDirty();
-            if (world != null && !world.isClient) {
-                world.updateListeners(pos, getCachedState(), getCachedState(), 3);
+            setMaterials(1 << index, materialId);
+        }
+    }
+
+    /**
+     * Sets slot {@code i} to {@code values[i]} for every bit {@code i} of {@code mask}, then marks the
+     * entity dirty and sends one update if anything changed. Use this instead of repeated
+     * {@link #setMaterial} calls, which send an update each.
+     */
+    public void setMaterials(int mask, Identifier[] values) {
+        boolean changed = false;
+        for (int i = 0; i < materials.length && i < values.length; i++) {
+            if ((mask & (1 << i)) != 0 && !Objects.equals(materials[i], values[i])) {
+                materials[i] = values[i];
+                changed = true;
             }
         }
+        if (changed) {
+            onMaterialsChanged();
+        }
+    }
+
+    /**
+     * Sets every slot in {@code mask} to {@code materialId}, with a single update.
+     */
+    public void setMaterials(int mask, Identifier materialId) {
+        boolean changed = false;
+        for (int i = 0; i < materials.length; i++) {
+            if ((mask & (1 << i)) != 0 && !Objects.equals(materials[i], materialId)) {
+                materials[i] = materialId;
+                changed = true;
+            }
+        }
+        if (changed) {
+            onMaterialsChanged();
+        }
+    }
+
+    private void onMaterialsChanged() {
+        markDirty();
+        if (world != null && !world.isClient) {
+            world.updateListeners(pos, getCachedState(), getCachedState(), 3);
+        }
     }
 
     public Identifier getMaterial(int index) {
@@ -48,8 +97,19 @@ public abstract class MixedBlockEntity extends BlockEntity {
     @Override
     public void readNbt(NbtCompound nbt) {
         super.readNbt(nbt);
-        if (nbt.contains("Materials", 9)) {
-            NbtList list = nbt.getList("Materials", 8);
+        if (nbt.contains(SYNC_PALETTE_KEY, NbtElement.INT_ARRAY_TYPE)) {
+            int[] palette = nbt.getIntArray(SYNC_PALETTE_KEY);
+            // An unknown raw ID (mismatched registries) leaves the segment empty rather than air.
+            readSegments(nbt.getByteArray(SEGMENTS_KEY), palette.length,
+                    index -> Registries.BLOCK.getEntry(palette[index])
+                            .map(entry -> entry.registryKey().getValue())
+                            .orElse(null));
+        } else if (nbt.contains(PALETTE_KEY, NbtElement.LIST_TYPE)) {
+            NbtList palette = nbt.getList(PALETTE_KEY, NbtElement.STRING_TYPE);
+            readSegments(nbt.getByteArray(SEGMENTS_KEY), palette.size(),
+                    index -> Identifier.tryParse(palette.getString(index)));
+        } else if (nbt.contains(LEGACY_MATERIALS_KEY, NbtElement.LIST_TYPE)) {
+            NbtList list = nbt.getList(LEGACY_MATERIALS_KEY, NbtElement.STRING_TYPE);
             for (int i = 0; i < Math.min(list.size(), materials.length); i++) {
                 String s = list.getString(i);
                 materials[i] = s.isEmpty() ? null : new Identifier(s);
@@ -61,14 +121,21 @@ public abstract class MixedBlockEntity extends BlockEntity {
         }
     }
 
+    /**
+     * Saves materials as a palette of distinct IDs plus one palette index per segment
+     * (0 = empty, n = palette entry n - 1), instead of one full string per segment.
+     */
     @Override
     protected void writeNbt(NbtCompound nbt) {
         super.writeNbt(nbt);
-        NbtList list = new NbtList();
-        for (Identifier material : materials) {
-            list.add(NbtString.of(material == null ? "" : material.toString()));
+        List<Identifier> palette = new ArrayList<>(materials.length);
+        byte[] segments = encodeSegments(palette);
+        NbtList paletteList = new NbtList();
+        for (Identifier material : palette) {
+            paletteList.add(NbtString.of(material.toString()));
         }
-        nbt.put("Materials", list);
+        nbt.put(PALETTE_KEY, paletteList);
+        nbt.putByteArray(SEGMENTS_KEY, segments);
     }
 
     @Override
@@ -76,8 +143,49 @@ public abstract class MixedBlockEntity extends BlockEntity {
         return BlockEntityUpdateS2CPacket.create(this);
     }
 
+    /**
+     * Client sync uses the same palette layout with raw block IDs, which registry sync keeps
+     * consistent between server and client. Falls back to the saved format if a material is
+     * not a registered block.
+     */
     @Override
     public NbtCompound toInitialChunkDataNbt() {
-        return createNbt();
+        List<Identifier> palette = new ArrayList<>(materials.length);
+        byte[] segments = encodeSegments(palette);
+        int[] rawIds = new int[palette.size()];
+        for (int i = 0; i < rawIds.length; i++) {
+            Identifier material = palette.get(i);
+            if (!Registries.BLOCK.containsId(material)) {
+                return createNbt();
+            }
+            rawIds[i] = Registries.BLOCK.getRawId(Registries.BLOCK.get(material));
+        }
+
+        NbtCompound nbt = new NbtCompound();
+        nbt.putIntArray(SYNC_PALETTE_KEY, rawIds);
+        nbt.putByteArray(SEGMENTS_KEY, segments);
+        return nbt;
+    }
+
+    private byte[] encodeSegments(List<Identifier> palette) {
+        byte[] segments = new byte[materials.length];
+        for (int i = 0; i < materials.length; i++) {
+            Identifier material = materials[i];
+            if (material == null) continue;
+            int index = palette.indexOf(material);
+            if (index < 0) {
+                index = palette.size();
+                palette.add(material);
+            }
+            segments[i] = (byte) (index + 1);
+        }
+        return segments;
+    }
+
+    private void readSegments(byte[] segments, int paletteSize, IntFunction<Identifier> paletteEntry) {
+        for (int i = 0; i < materials.length; i++) {
+            int index = i < segments.length ? segments[i] - 1 : -1;
+            materials[i] = index >= 0 && index < paletteSize ? paletteEntry.apply(index) : null;
+        }
     }
 }
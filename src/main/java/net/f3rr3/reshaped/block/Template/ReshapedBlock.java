@@ -1,14 +1,6 @@
 package net.f3rr3.reshaped.block.Template;
 
-import net.f3rr3.reshaped.block.BlockSegmentUtils;
-import net.f3rr3.reshaped.block.Corner.CornerBlock;
-import net.f3rr3.reshaped.block.Corner.MixedCornerBlock;
-import net.f3rr3.reshaped.block.Slab.MixedSlabBlock;
-import net.f3rr3.reshaped.block.Step.MixedStepBlock;
-import net.f3rr3.reshaped.block.Step.StepBlock;
-import net.f3rr3.reshaped.block.VerticalSlab.MixedVerticalSlabBlock;
-import net.f3rr3.reshaped.block.VerticalStep.MixedVerticalStepBlock;
-import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -46,23 +38,10 @@ public abstract class ReshapedBlock extends Block implements Waterloggable {
         return context.getHitPos().subtract(pos.getX(), pos.getY(), pos.getZ());
     }
 
-    private static int countSegments(BlockState state, BooleanProperty[] properties) {
-        int count = 0;
-        for (BooleanProperty property : properties) {
-            if (state.get(property)) {
-                count++;
-            }
-        }
-        return Math.max(count, 1);
-    }
-
-    private static List<ItemStack> buildMixedDrops(BlockState state, BooleanProperty[] properties, MixedBlockEntity blockEntity) {
+    private static List<ItemStack> buildMixedDrops(BlockState state, MixedBlockEntity blockEntity) {
         java.util.ArrayList<ItemStack> drops = new java.util.ArrayList<>();
-        for (int i = 0; i < properties.length; i++) {
-            if (!state.get(properties[i])) {
-                continue;
-            }
-            net.minecraft.util.Identifier materialId = blockEntity.getMaterial(i);
+        for (int mask = SegmentOccupancy.mask(state); mask != 0; mask &= mask - 1) {
+            net.minecraft.util.Identifier materialId = blockEntity.getMaterial(Integer.numberOfTrailingZeros(mask));
             if (materialId == null) {
                 continue;
             }
@@ -106,39 +85,13 @@ public abstract class ReshapedBlock extends Block implements Waterloggable {
 
         net.minecraft.block.entity.BlockEntity be = context.getOptional(LootContextParameters.BLOCK_ENTITY);
         if (be instanceof MixedBlockEntity mixedBlockEntity) {
-            BooleanProperty[] props = null;
-            if (state.getBlock() instanceof MixedCornerBlock) {
-                props = BlockSegmentUtils.CORNER_PROPERTIES;
-            } else if (state.getBlock() instanceof MixedStepBlock) {
-                props = BlockSegmentUtils.STEP_PROPERTIES;
-            } else if (state.getBlock() instanceof MixedVerticalStepBlock) {
-                props = BlockSegmentUtils.VERTICAL_STEP_PROPERTIES;
-            } else if (state.getBlock() instanceof MixedSlabBlock) {
-                props = new BooleanProperty[]{MixedSlabBlock.BOTTOM, MixedSlabBlock.TOP};
-            } else if (state.getBlock() instanceof MixedVerticalSlabBlock) {
-                props = new BooleanProperty[]{MixedVerticalSlabBlock.NEGATIVE, MixedVerticalSlabBlock.POSITIVE};
-            }
-
-            if (props != null) {
-                List<ItemStack> drops = buildMixedDrops(state, props, mixedBlockEntity);
-                if (!drops.isEmpty()) {
-                    return drops;
-                }
+            List<ItemStack> drops = buildMixedDrops(state, mixedBlockEntity);
+            if (!drops.isEmpty()) {
+                return drops;
             }
         }
 
-        int count = 1;
-        if (state.getBlock() instanceof CornerBlock || state.getBlock() instanceof MixedCornerBlock) {
-            count = countSegments(state, BlockSegmentUtils.CORNER_PROPERTIES);
-        } else if (state.getBlock() instanceof StepBlock || state.getBlock() instanceof MixedStepBlock) {
-            count = countSegments(state, BlockSegmentUtils.STEP_PROPERTIES);
-        } else if (state.getBlock() instanceof VerticalStepBlock || state.getBlock() instanceof MixedVerticalStepBlock) {
-            count = countSegments(state, BlockSegmentUtils.VERTICAL_STEP_PROPERTIES);
-        } else if (state.getBlock() instanceof MixedSlabBlock) {
-            count = countSegments(state, new BooleanProperty[]{MixedSlabBlock.BOTTOM, MixedSlabBlock.TOP});
-        } else if (state.getBlock() instanceof MixedVerticalSlabBlock) {
-            count = countSegments(state, new BooleanProperty[]{MixedVerticalSlabBlock.NEGATIVE, MixedVerticalSlabBlock.POSITIVE});
-        }
+        int count = Math.max(SegmentOccupancy.count(state), 1);
 
         ItemStack drop = new ItemStack(this);
         if (count <= 1) {
@@ -1,5 +1,7 @@
 package net.f3rr3.reshaped.block.VerticalSlab;
 
+import net.f3rr3.reshaped.block.BlockSegmentUtils;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
 import net.f3rr3.reshaped.block.Template.ReshapedBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEntityProvider;
@@ -122,14 +124,8 @@ public class MixedVerticalSlabBlock extends ReshapedBlock implements BlockEntity
             BlockEntity be = world.getBlockEntity(pos);
             if (be instanceof VerticalSlabBlockEntity verticalSlabBlockEntity) {
                 if (itemStack.getItem() instanceof BlockItem blockItem) {
-                    Block block = blockItem.getBlock();
-
-                    BooleanProperty[] allProps = {NEGATIVE, POSITIVE};
-                    for (int i = 0; i < 2; i++) {
-                        if (state.get(allProps[i]) && verticalSlabBlockEntity.getMaterial(i) == null) {
-                            verticalSlabBlockEntity.setMaterial(i, Registries.BLOCK.getId(block));
-                        }
-                    }
+                    BlockSegmentUtils.fillMissingMaterials(verticalSlabBlockEntity, state, SegmentOccupancy.VERTICAL_SLAB_PROPERTIES,
+                            Registries.BLOCK.getId(blockItem.getBlock()));
                 }
             }
         }
@@ -0,0 +1,29 @@
+package net.f3rr3.reshaped.client;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Fork-join pool used to pre-generate runtime model JSON while the model loader starts up.
+ * Kept separate from the common pool so generation never competes with other mods' tasks there.
+ */
+final class ModelWorkerPool {
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Reshaped Model Worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    private ModelWorkerPool() {
+    }
+
+    static ForkJoinPool get() {
+        return POOL;
+    }
+}
@@ -4,23 +4,29 @@ import me.shedaniel.autoconfig.AutoConfig;
 import me.shedaniel.autoconfig.serializer.GsonConfigSerializer;
 import net.f3rr3.reshaped.Reshaped;
 import net.f3rr3.reshaped.client.gui.CircleTexture;
+import net.f3rr3.reshaped.client.render.SegmentModelCache;
 import net.f3rr3.reshaped.config.client.ModConfig;
 import net.f3rr3.reshaped.network.NetworkHandler;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.blockrenderlayer.v1.BlockRenderLayerMap;
 import net.fabricmc.fabric.api.client.item.v1.ItemTooltipCallback;
 import net.fabricmc.fabric.api.client.model.loading.v1.ModelLoadingPlugin;
+import net.fabricmc.fabric.api.event.registry.RegistryIdRemapCallback;
 import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.ResourceReloadListenerKeys;
 import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 import net.minecraft.block.Block;
 import net.minecraft.client.render.RenderLayer;
 import net.minecraft.item.BlockItem;
+import net.minecraft.registry.Registries;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.resource.ResourceType;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +67,8 @@ public class ReshapedClient implements ClientModInitializer {
 	public void onInitializeClient() {
 		NetworkHandler.registerClientReceivers();
 		ModelLoadingPlugin.register(new ReshapedModelLoadingPlugin());
+		// Segment model rows are keyed by block raw ID, which registry sync can renumber on join.
+		RegistryIdRemapCallback.event(Registries.BLOCK).register(state -> SegmentModelCache.CLIENT.clear());
 		ModKeybindings.register();
 		ClientTickHandler.register();
 		AutoConfig.register(ModConfig.class, GsonConfigSerializer::new);
@@ -111,6 +119,25 @@ public class ReshapedClient implements ClientModInitializer {
 			}
 		});
 
+		ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+			private static final Identifier ID = new Identifier(Reshaped.MOD_ID, "model_reload_stats");
+
+			@Override
+			public Identifier getFabricId() {
+				return ID;
+			}
+
+			@Override
+			public Collection<Identifier> getFabricDependencies() {
+				return Collections.singletonList(ResourceReloadListenerKeys.MODELS);
+			}
+
+			@Override
+			public void reload(ResourceManager manager) {
+				ReshapedModelLoadingPlugin.logReloadStats();
+			}
+		});
+
 		refreshVariantRenderLayers();
 		registerVariantColorProviders();
 	}
@@ -1,18 +1,24 @@
 package net.f3rr3.reshaped.client;
 
+import me.shedaniel.autoconfig.AutoConfig;
 import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
 import net.f3rr3.reshaped.block.Step.MixedStepBlock;
 import net.f3rr3.reshaped.block.Step.StepBlock;
 import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
 import net.f3rr3.reshaped.client.render.CompositeBakedModel;
+import net.f3rr3.reshaped.config.client.ModConfig;
 import net.f3rr3.reshaped.matrix.MatrixRebuilder;
+import net.f3rr3.reshaped.mixin.client.BakedModelManagerAccessor;
 import net.fabricmc.fabric.api.client.model.loading.v1.ModelLoadingPlugin;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.SlabBlock;
 import net.minecraft.block.StairsBlock;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedModelManager;
 import net.minecraft.client.render.model.ModelRotation;
-import net.minecraft.client.render.model.json.JsonUnbakedModel;
 import net.minecraft.client.render.model.json.ModelVariant;
 import net.minecraft.client.render.model.json.WeightedUnbakedModel;
 import net.minecraft.registry.Registries;
@@ -22,15 +28,48 @@ import net.minecraft.util.math.AffineTransformation;
 import java.util.*;
 
 public class ReshapedModelLoadingPlugin implements ModelLoadingPlugin {
+    private static long reloadStartNanos;
+    private static boolean reloadLazyCorners;
+    private static int cornerSegmentModels;
+    // Every model ID added this reload, pre-generated once registration is done.
+    private static final Set<Identifier> REGISTERED_MODELS = new LinkedHashSet<>();
+
+    /**
+     * Logs how long the last model reload took since this plugin ran and how many Reshaped models
+     * the model manager ended up baking. Called once the model manager has finished baking.
+     * <p>
+     * The baked model count stands in for the memory cost of a reload; a used-heap delta without
+     * a collection in between mostly measures garbage.
+     */
+    public static void logReloadStats() {
+        if (reloadStartNanos == 0) return;
+        long elapsedMs = (System.nanoTime() - reloadStartNanos) / 1_000_000L;
+        int bakedModels = 0;
+        BakedModelManager modelManager = MinecraftClient.getInstance().getBakedModelManager();
+        Map<Identifier, BakedModel> models = modelManager != null ? ((BakedModelManagerAccessor) modelManager).getModels() : null;
+        if (models != null) {
+            for (Identifier id : models.keySet()) {
+                if (id.getNamespace().equals(Reshaped.MOD_ID)) bakedModels++;
+            }
+        }
+        Reshaped.LOGGER.info("[ReshapedModelLoadingPlugin] Model reload took {} ms, {} Reshaped models baked, {} corner segment models registered ({} corners)",
+                elapsedMs, bakedModels, cornerSegmentModels, reloadLazyCorners ? "lazy" : "eager");
+        reloadStartNanos = 0;
+    }
+
+    private static void addModel(Context context, Identifier modelId) {
+        context.addModels(modelId);
+        REGISTERED_MODELS.add(modelId);
+    }
 
     private static Identifier withRandomSuffix(Identifier modelId, int index) {
         return new Identifier(modelId.getNamespace(), modelId.getPath() + "_rnd" + index);
     }
 
     private static void addModelWithRandomizedCopies(Context context, Identifier modelId, int randomCount) {
-        context.addModels(modelId);
+        addModel(context, modelId);
         for (int i = 0; i < randomCount; i++) {
-            context.addModels(withRandomSuffix(modelId, i));
+            addModel(context, withRandomSuffix(modelId, i));
         }
     }
 
@@ -38,19 +77,19 @@ public class ReshapedModelLoadingPlugin implements ModelLoadingPlugin {
         addModelWithRandomizedCopies(context, new Identifier(Reshaped.MOD_ID, "block/" + path), randomCount);
         int max = 1 << 4;
         for (int i = 0; i < max; i++) {
-            addModelWithRandomizedCopies(context, new Identifier(Reshaped.MOD_ID, "block/" + path + "_" + toBitMask(i, 4)), randomCount);
+            addModelWithRandomizedCopies(context, new Identifier(Reshaped.MOD_ID, "block/" + path + "_" + SegmentOccupancy.maskString(i, 4)), randomCount);
         }
     }
 
     private static void addSegmentModels(Context context, String path, int randomCount) {
         addBlockSegmentModels(context, path, randomCount);
-        context.addModels(new Identifier(Reshaped.MOD_ID, "item/" + path));
+        addModel(context, new Identifier(Reshaped.MOD_ID, "item/" + path));
     }
 
     private static void addStepSegmentModels(Context context, String path, int randomCount) {
         addBlockSegmentModels(context, path + "_nortsouth", randomCount);
         addBlockSegmentModels(context, path + "_eastwest", randomCount);
-        context.addModels(new Identifier(Reshaped.MOD_ID, "item/" + path));
+        addModel(context, new Identifier(Reshaped.MOD_ID, "item/" + path));
     }
 
     private static void addDirectionalModels(Context context, String path, int randomCount) {
@@ -77,18 +116,21 @@ public class ReshapedModelLoadingPlugin implements ModelLoadingPlugin {
             }
             return new Identifier(Reshaped.MOD_ID, "block/" + path);
         }
-        return new Identifier(Reshaped.MOD_ID, "block/" + path + "_" + toBitMask(bitmask, 4));
-    }
-
-    private static String toBitMask(int value, int length) {
-        return String.format("%" + length + "s", Integer.toBinaryString(value)).replace(' ', '0');
+        return new Identifier(Reshaped.MOD_ID, "block/" + path + "_" + SegmentOccupancy.maskString(bitmask, 4));
     }
 
     @Override
     public void onInitializeModelLoader(Context context) {
+        reloadStartNanos = System.nanoTime();
+        cornerSegmentModels = 0;
+        REGISTERED_MODELS.clear();
+        ModConfig config = AutoConfig.getConfigHolder(ModConfig.class).getConfig();
+        boolean lazyCornerModels = config.lazyCornerModels;
+        reloadLazyCorners = lazyCornerModels;
+
         // Late-sync: Ensure the matrix is bootstrapped before we start resolving models.
         MatrixRebuilder.bootstrap(net.f3rr3.reshaped.Reshaped.MATRIX, true);
-        context.addModels(new Identifier(Reshaped.MOD_ID, "block/mixed_placeholder"));
+        addModel(context, new Identifier(Reshaped.MOD_ID, "block/mixed_placeholder"));
 
         // Register block state resolvers for all reshaped blocks currently in registry
         for (Block block : Registries.BLOCK) {
@@ -107,12 +149,8 @@ public class ReshapedModelLoadingPlugin implements ModelLoadingPlugin {
                     final List<RuntimeResourceGenerator.ModelCandidate> finalBaseCandidates = baseCandidates;
                     context.registerBlockStateResolver(block, resolverContext -> {
                         for (BlockState state : block.getStateManager().getStates()) {
-                            // Construct bitmask: DF DB UF UB
-                            int bitmask = 0;
-                            if (state.get(StepBlock.DOWN_FRONT)) bitmask |= 8;
-                            if (state.get(StepBlock.DOWN_BACK)) bitmask |= 4;
-                            if (state.get(StepBlock.UP_FRONT)) bitmask |= 2;
-                            if (state.get(StepBlock.UP_BACK)) bitmask |= 1;
+                            // Occupancy bits in STEP_PROPERTIES order: DF DB UF UB
+                            int bitmask = SegmentOccupancy.mask(state);
 
                             StepBlock.StepAxis axis = state.get(StepBlock.AXIS);
                             String axisSuffix = axis == StepBlock.StepAxis.NORTH_SOUTH ? "_nortsouth" : "_eastwest";
@@ -144,12 +182,8 @@ public class ReshapedModelLoadingPlugin implements ModelLoadingPlugin {
                     final List<RuntimeResourceGenerator.ModelCandidate> finalBaseCandidates = baseCandidates;
                     context.registerBlockStateResolver(block, resolverContext -> {
                         for (BlockState state : block.getStateManager().getStates()) {
-                            // Construct bitmask: NW NE SW SE
-                            int bitmask = 0;
-                            if (state.get(VerticalStepBlock.NORTH_WEST)) bitmask |= 8;
-                            if (state.get(VerticalStepBlock.NORTH_EAST)) bitmask |= 4;
-                            if (state.get(VerticalStepBlock.SOUTH_WEST)) bitmask |= 2;
-                            if (state.get(VerticalStepBlock.SOUTH_EAST)) bitmask |= 1;
+                            // Occupancy bits in VERTICAL_STEP_PROPERTIES order: NW NE SW SE
+                            int bitmask = SegmentOccupancy.mask(state);
 
                             Identifier modelId = resolveSegmentModelId(block, path, bitmask, finalRandomCount > 0);
                             if (finalRandomCount > 0 && modelId.getNamespace().equals(Reshaped.MOD_ID)) {
@@ -266,26 +300,36 @@ public class ReshapedModelLoadingPlugin implements ModelLoadingPlugin {
                 }
 
                 if (path.endsWith("_corner")) {
-                    for (int i = 0; i < 256; i++) {
-                        addModelWithRandomizedCopies(context, new Identifier(Reshaped.MOD_ID, "block/" + path + "_" + toBitMask(i, 8)), randomCount);
+                    if (lazyCornerModels) {
+                        // CompositeBakedModel renders corners one segment at a time, so only the
+                        // single-segment models are ever looked up; combined masks are composed at emit time.
+                        for (int i = 0; i < 8; i++) {
+                            addModel(context, new Identifier(Reshaped.MOD_ID, "block/" + path + "_" + SegmentOccupancy.maskString(1 << i, 8)));
+                        }
+                        cornerSegmentModels += 8;
+                    } else {
+                        for (int i = 0; i < 256; i++) {
+                            addModelWithRandomizedCopies(context, new Identifier(Reshaped.MOD_ID, "block/" + path + "_" + SegmentOccupancy.maskString(i, 8)), randomCount);
+                        }
+                        cornerSegmentModels += 256 * (randomCount + 1);
                     }
                 }
-                context.addModels(new Identifier(Reshaped.MOD_ID, "item/" + path));
+                addModel(context, new Identifier(Reshaped.MOD_ID, "item/" + path));
             }
         }
 
-        // Register a model resolver for everything else (geometry models, items)
+        RuntimeResourceGenerator.pregenerateModels(REGISTERED_MODELS, config.parallelModelGeneration);
+        REGISTERED_MODELS.clear();
+
+        // Register a model resolver for everything else (geometry models, items);
+        // generated models are normally already waiting from the pre-generation pass above.
         context.resolveModel().register(resolverContext -> {
             Identifier id = resolverContext.id();
             if (id.getNamespace().equals(Reshaped.MOD_ID)) {
-                String normalizedPath = RuntimeResourceGenerator.normalizePath(id.getPath());
-                String json = RuntimeResourceGenerator.generateModelJson(normalizedPath);
-                if (json != null) {
-                    try {
-                        return JsonUnbakedModel.deserialize(json);
-                    } catch (Exception e) {
-                        Reshaped.LOGGER.error("Failed to deserialize dynamic model: {}", id, e);
-                    }
+                try {
+                    return RuntimeResourceGenerator.takeModel(id.getPath());
+                } catch (Exception e) {
+                    Reshaped.LOGGER.error("Failed to generate dynamic model: {}", id, e);
                 }
             }
             return null;
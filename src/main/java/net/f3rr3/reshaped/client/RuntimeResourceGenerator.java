@@ -1,25 +1,37 @@
 package net.f3rr3.reshaped.client;
 
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.mojang.datafixers.util.Either;
 import net.f3rr3.reshaped.Reshaped;
 import net.f3rr3.reshaped.block.Step.StepBlock;
 import net.f3rr3.reshaped.block.VericalStairs.VerticalStairsBlock;
 import net.f3rr3.reshaped.block.VerticalSlab.VerticalSlabBlock;
 import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
-import net.f3rr3.reshaped.registry.VariantRegistry;
+import net.f3rr3.reshaped.mixin.client.JsonUnbakedModelAccessor;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.SlabBlock;
 import net.minecraft.block.StairsBlock;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.model.ModelRotation;
+import net.minecraft.client.render.model.json.JsonUnbakedModel;
+import net.minecraft.client.render.model.json.ModelElement;
+import net.minecraft.client.render.model.json.ModelElementFace;
+import net.minecraft.client.render.model.json.ModelElementTexture;
+import net.minecraft.client.render.model.json.ModelTransformation;
 import net.minecraft.client.render.model.json.ModelVariant;
+import net.minecraft.client.texture.SpriteAtlasTexture;
+import net.minecraft.client.util.SpriteIdentifier;
 import net.minecraft.registry.Registries;
 import net.minecraft.resource.Resource;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3f;
 
 import java.io.InputStreamReader;
 import java.util.*;
@@ -31,13 +43,22 @@ public class RuntimeResourceGenerator {
      * Cache for analyzed texture mappings. Prevents repeated analysis of the same base block
      * during a single resource reload session. Cache is cleared when resources are reloaded.
      * <p>
-     * Key: Base block
-     * Value: Map of texture keys (e.g., "top", "bottom", "side") to texture resource paths
+     * Key: {@link #textureKey} of the base block's raw ID and model candidate index
+     * Value: Immutable map of texture keys (e.g., "top", "bottom", "side") to texture resource paths,
+     * shared by every key with the same contents (see {@link #TEXTURE_SETS})
      */
-    private static final Map<String, Map<String, String>> TEXTURE_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Long, Map<String, String>> TEXTURE_CACHE = new ConcurrentHashMap<>();
+    // Distinct texture sets; random candidates and aliased blocks often resolve to the same one.
+    private static final Map<Map<String, String>, Map<String, String>> TEXTURE_SETS = new ConcurrentHashMap<>();
     private static final Map<String, String> TEMPLATE_TEXT_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, JsonObject> TEMPLATE_JSON_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, String> GENERATED_MODEL_JSON_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, ModelTemplate> TEMPLATE_MODEL_CACHE = new ConcurrentHashMap<>();
+    // Flattened parent hierarchies used by generateSimpleModel, keyed by parent model path.
+    private static final Map<String, ModelTemplate> PARENT_MODEL_CACHE = new ConcurrentHashMap<>();
+    // Parsed model files and their resolved parent chains, shared by the texture analysis of every base block.
+    private static final Map<Identifier, Optional<JsonObject>> MODEL_JSON_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Identifier, Optional<ResolvedModel>> MODEL_HIERARCHY_CACHE = new ConcurrentHashMap<>();
+    // Pre-generated models waiting for the model resolver; each entry is taken exactly once.
+    private static final Map<String, JsonUnbakedModel> GENERATED_MODEL_CACHE = new ConcurrentHashMap<>();
     private static final Map<Identifier, List<ModelCandidate>> MODEL_CANDIDATE_CACHE = new ConcurrentHashMap<>();
     private static final Map<Identifier, Optional<Identifier>> RESOLVED_MODEL_ID_CACHE = new ConcurrentHashMap<>();
 
@@ -47,9 +68,13 @@ public class RuntimeResourceGenerator {
 
     public static void clearCaches() {
         TEXTURE_CACHE.clear();
+        TEXTURE_SETS.clear();
         TEMPLATE_TEXT_CACHE.clear();
-        TEMPLATE_JSON_CACHE.clear();
-        GENERATED_MODEL_JSON_CACHE.clear();
+        TEMPLATE_MODEL_CACHE.clear();
+        PARENT_MODEL_CACHE.clear();
+        MODEL_JSON_CACHE.clear();
+        MODEL_HIERARCHY_CACHE.clear();
+        GENERATED_MODEL_CACHE.clear();
         MODEL_CANDIDATE_CACHE.clear();
         RESOLVED_MODEL_ID_CACHE.clear();
     }
@@ -123,35 +148,81 @@ public class RuntimeResourceGenerator {
         return variants;
     }
 
-    public static String generateModelJson(String cleanPath) {
+    /**
+     * Generates the unbaked model for a reshaped model path, or returns null if no generator handles it.
+     */
+    public static JsonUnbakedModel generateModel(String cleanPath) {
         if (Reshaped.MATRIX == null) return null;
-        String path = normalizePath(cleanPath);
+        return generateModelUncached(normalizePath(cleanPath));
+    }
 
-        String cached = GENERATED_MODEL_JSON_CACHE.get(path);
-        if (cached != null) {
-            return cached;
+    /**
+     * Returns the model pre-generated for {@code cleanPath} and drops it from the cache, generating it
+     * now if pre-generation did not cover it. Unbaked models are linked to their parents by the model
+     * loader, so each instance is handed out once.
+     */
+    public static JsonUnbakedModel takeModel(String cleanPath) {
+        JsonUnbakedModel pregenerated = GENERATED_MODEL_CACHE.remove(normalizePath(cleanPath));
+        return pregenerated != null ? pregenerated : generateModel(cleanPath);
+    }
+
+    /**
+     * Generates every given reshaped model ahead of {@link #takeModel} calls from the model resolver,
+     * which then only read the cache. Models are independent of each other, so with {@code parallel}
+     * they are generated on {@link ModelWorkerPool}; if that fails the rest is left to be generated
+     * on demand.
+     */
+    public static void pregenerateModels(Collection<Identifier> modelIds, boolean parallel) {
+        if (Reshaped.MATRIX == null || modelIds.isEmpty()) return;
+
+        long start = System.nanoTime();
+        List<String> paths = new ArrayList<>(modelIds.size());
+        for (Identifier modelId : modelIds) {
+            if (modelId.getNamespace().equals(Reshaped.MOD_ID)) {
+                paths.add(normalizePath(modelId.getPath()));
+            }
         }
 
-        String generated = generateModelJsonUncached(path);
-        if (generated != null) {
-            GENERATED_MODEL_JSON_CACHE.put(path, generated);
+        try {
+            if (parallel) {
+                ModelWorkerPool.get().submit(() -> paths.parallelStream().forEach(RuntimeResourceGenerator::pregenerate)).join();
+            } else {
+                paths.forEach(RuntimeResourceGenerator::pregenerate);
+            }
+        } catch (RuntimeException e) {
+            Reshaped.LOGGER.warn("[RuntimeResourceGenerator] Model pre-generation failed, remaining models are generated on demand", e);
+            return;
+        }
+
+        Reshaped.LOGGER.info("[RuntimeResourceGenerator] Pre-generated {} of {} models in {} ms ({}), texture cache: {}",
+                GENERATED_MODEL_CACHE.size(), paths.size(), (System.nanoTime() - start) / 1_000_000L, parallel ? "parallel" : "sequential",
+                describeTextureCache());
+    }
+
+    private static void pregenerate(String path) {
+        try {
+            JsonUnbakedModel model = generateModel(path);
+            if (model != null) {
+                GENERATED_MODEL_CACHE.put(path, model);
+            }
+        } catch (RuntimeException e) {
+            Reshaped.LOGGER.warn("[RuntimeResourceGenerator] Failed to pre-generate model {}", path, e);
         }
-        return generated;
     }
 
-    private static String generateModelJsonUncached(String path) {
+    private static JsonUnbakedModel generateModelUncached(String path) {
 
         // Handle Item Models
         if (path.startsWith("item/")) {
             String itemPath = path.substring(5);
-            return "{\"parent\":\"reshaped:block/" + itemPath + "\"}";
+            return buildModel(ModelTemplate.of(new Identifier(Reshaped.MOD_ID, "block/" + itemPath)), List.of(), Map.of());
         }
 
         // Handle Block Models
         String blockPath = path;
         if (blockPath.startsWith("block/")) blockPath = blockPath.substring(6);
         if (blockPath.startsWith("mixed_") && !blockPath.equals("mixed_placeholder")) {
-            return "{\"parent\":\"reshaped:block/mixed_placeholder\"}";
+            return buildModel(ModelTemplate.of(new Identifier(Reshaped.MOD_ID, "block/mixed_placeholder")), List.of(), Map.of());
         }
         String variantRegistryPath = blockPath;
         int randomVariantIndex = extractRandomVariantIndex(blockPath);
@@ -159,7 +230,7 @@ public class RuntimeResourceGenerator {
             blockPath = stripRandomVariantSuffix(blockPath);
         }
 
-        // Delegate to VariantRegistry for custom variants
+        // Delegate to VariantModelGenerator for custom variants
         String baseBlockPath = blockPath;
         if (blockPath.contains("_corner_") && blockPath.length() >= 9) {
             int lastUnderscore = blockPath.lastIndexOf("_");
@@ -185,8 +256,8 @@ public class RuntimeResourceGenerator {
         // Use regex for mask to avoid partial matches
         baseBlockPath = baseBlockPath.replaceAll("_\\d{4}$", "");
 
-        String variantJson = VariantRegistry.generateModelJson(variantRegistryPath, Registries.BLOCK.get(new Identifier(Reshaped.MOD_ID, baseBlockPath)));
-        if (variantJson != null) return variantJson;
+        JsonUnbakedModel variantModel = VariantModelGenerator.generateModel(variantRegistryPath, Registries.BLOCK.get(new Identifier(Reshaped.MOD_ID, baseBlockPath)));
+        if (variantModel != null) return variantModel;
 
         // Slab and Stair fallbacks (Efficient lookup)
         Identifier blockId = new Identifier(Reshaped.MOD_ID, stripMaskSuffix(blockPath)
@@ -258,85 +329,82 @@ public class RuntimeResourceGenerator {
         return null;
     }
 
-    public static String generateSimpleModel(String parent, Map<String, String> textures) {
-        Identifier parentId = resolveModelIdentifier(parent);
-        JsonObject root = loadModelHierarchy(parentId);
-        if (root == null) {
-            root = new JsonObject();
-            root.addProperty("parent", parent);
-        } else {
-            root.remove("parent"); // We've flattened it
-        }
-
-        JsonObject texturesObj = root.has("textures") ? root.getAsJsonObject("textures") : new JsonObject();
-        applyTextures(texturesObj, textures);
-        root.add("textures", texturesObj);
-
-        injectOverlays(root, textures);
-        applyTints(root, textures);
-
-        return root.toString();
+    public static JsonUnbakedModel generateSimpleModel(String parent, Map<String, String> textures) {
+        ModelTemplate template = PARENT_MODEL_CACHE.computeIfAbsent(parent, key -> {
+            ResolvedModel root = loadModelHierarchy(resolveModelIdentifier(key));
+            if (root == null) {
+                return ModelTemplate.of(new Identifier(key));
+            }
+            return ModelTemplate.parse(root.json()).withoutParent(); // We've flattened it
+        });
+        return buildModel(template, withOverlays(template.elements(), textures, false), textures);
     }
 
-    public static String generateModelFromTemplate(String templatePath, Map<String, String> textures) {
-        JsonObject template = loadTemplateJson("models/" + templatePath + ".json");
+    public static JsonUnbakedModel generateModelFromTemplate(String templatePath, Map<String, String> textures) {
+        ModelTemplate template = loadTemplateModel("models/" + templatePath + ".json");
         if (template == null) return null;
+        return buildModel(template, withOverlays(template.elements(), textures, false), textures);
+    }
 
-        if (template.has("textures")) {
-            applyTextures(template.getAsJsonObject("textures"), textures);
+    /**
+     * Builds the unbaked model for {@code template} with the given elements and base block textures.
+     * Texture fallbacks are applied on top of the template's own texture map and face tints are set
+     * from the texture analysis; the template itself is left untouched.
+     */
+    public static JsonUnbakedModel buildModel(ModelTemplate template, List<ModelElement> elements, Map<String, String> textures) {
+        Map<String, String> textureValues = new LinkedHashMap<>(template.textures());
+        applyTextures(textureValues, textures);
+
+        Map<String, Either<SpriteIdentifier, String>> textureMap = new HashMap<>(textureValues.size());
+        for (Map.Entry<String, String> entry : textureValues.entrySet()) {
+            String value = entry.getValue();
+            if (value.startsWith("#")) {
+                textureMap.put(entry.getKey(), Either.right(value.substring(1)));
+            } else {
+                Identifier textureId = Identifier.tryParse(value);
+                if (textureId != null) {
+                    textureMap.put(entry.getKey(), Either.left(new SpriteIdentifier(SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE, textureId)));
+                }
+            }
         }
 
-        injectOverlays(template, textures);
-        applyTints(template, textures);
-
-        return template.toString();
+        return new JsonUnbakedModel(template.parentId(), applyTints(elements, textures), textureMap,
+                template.ambientOcclusion(), template.guiLight(), template.transformation(), List.of());
     }
 
-    private static void injectOverlays(JsonObject model, Map<String, String> textures) {
+    /**
+     * Returns {@code elements} followed by an overlay copy of every element whose side, top or bottom
+     * faces have an overlay texture. {@code genericSideOverlay} also accepts a plain "overlay" texture
+     * for side faces.
+     */
+    public static List<ModelElement> withOverlays(List<ModelElement> elements, Map<String, String> textures, boolean genericSideOverlay) {
         if (!textures.containsKey("side_overlay") && !textures.containsKey("top_overlay") && !textures.containsKey("bottom_overlay")) {
-            return;
+            return elements;
         }
 
-        if (!model.has("elements")) return;
-        com.google.gson.JsonArray elements = model.getAsJsonArray("elements");
-        com.google.gson.JsonArray overlayElements = new com.google.gson.JsonArray();
-
-        for (com.google.gson.JsonElement elementElem : elements) {
-            JsonObject element = elementElem.getAsJsonObject();
-            if (!element.has("faces")) continue;
-
-            JsonObject faces = element.getAsJsonObject("faces");
-            JsonObject overlayFaces = new JsonObject();
-            boolean hasOverlay = false;
-
-            for (String faceName : faces.keySet()) {
-                JsonObject face = faces.getAsJsonObject(faceName);
-                if (!face.has("texture")) continue;
-                String texRef = face.get("texture").getAsString();
-
-                String overlayKey = switch (texRef) {
+        List<ModelElement> result = new ArrayList<>(elements);
+        for (ModelElement element : elements) {
+            Map<Direction, ModelElementFace> overlayFaces = new EnumMap<>(Direction.class);
+            for (Map.Entry<Direction, ModelElementFace> entry : element.faces.entrySet()) {
+                ModelElementFace face = entry.getValue();
+                String overlayKey = switch (face.textureId) {
                     case "#side", "#wall" -> "#side_overlay";
                     case "#top", "#end" -> "#top_overlay";
                     case "#bottom" -> "#bottom_overlay";
                     default -> null;
                 };
 
-                if (overlayKey != null && textures.containsKey(overlayKey.substring(1))) {
-                    JsonObject overlayFace = face.deepCopy();
-                    overlayFace.addProperty("texture", overlayKey);
-                    overlayFaces.add(faceName, overlayFace);
-                    hasOverlay = true;
+                if (overlayKey != null && (textures.containsKey(overlayKey.substring(1))
+                        || (genericSideOverlay && overlayKey.equals("#side_overlay") && textures.containsKey("overlay")))) {
+                    overlayFaces.put(entry.getKey(), new ModelElementFace(face.cullFace, face.tintIndex, overlayKey, face.textureData));
                 }
             }
 
-            if (hasOverlay) {
-                JsonObject overlayElement = element.deepCopy();
-                overlayElement.add("faces", overlayFaces);
-                overlayElements.add(overlayElement);
+            if (!overlayFaces.isEmpty()) {
+                result.add(new ModelElement(element.from, element.to, overlayFaces, element.rotation, element.shade));
             }
         }
-
-        elements.addAll(overlayElements);
+        return result;
     }
 
     public static Identifier resolveModelIdentifier(String path) {
@@ -347,40 +415,45 @@ public class RuntimeResourceGenerator {
         return new Identifier("minecraft", "models/" + path + ".json");
     }
 
-    public static void applyTints(JsonObject model, Map<String, String> textures) {
-        if (!model.has("elements")) return;
-        com.google.gson.JsonArray elements = model.getAsJsonArray("elements");
-        for (com.google.gson.JsonElement elementElem : elements) {
-            JsonObject element = elementElem.getAsJsonObject();
-            if (!element.has("faces")) continue;
-            JsonObject faces = element.getAsJsonObject("faces");
-            for (String faceName : faces.keySet()) {
-                JsonObject face = faces.getAsJsonObject(faceName);
-                if (!face.has("texture")) continue;
-                String texRef = face.get("texture").getAsString();
-                if (texRef.startsWith("#")) {
-                    String key = texRef.substring(1);
-                    String tintKey = switch (key) {
-                        case "top", "end" -> "_tint_top";
-                        case "bottom" -> "_tint_bottom";
-                        case "side", "wall" -> "_tint_side";
-                        case "top_overlay" -> "_tint_top_overlay";
-                        case "bottom_overlay" -> "_tint_bottom_overlay";
-                        case "side_overlay", "overlay" -> "_tint_side_overlay";
-                        default -> null;
-                    };
-
-                    if (tintKey != null && textures.containsKey(tintKey)) {
-                        try {
-                            face.addProperty("tintindex", Integer.parseInt(textures.get(tintKey)));
-                        } catch (NumberFormatException ignored) {
-                        }
-                    } else {
-                        face.remove("tintindex");
+    /**
+     * Sets each texture-referencing face's tint index from the base block's analyzed tints, clearing
+     * it where the base block has none. Elements without changes are returned as they are.
+     */
+    public static List<ModelElement> applyTints(List<ModelElement> elements, Map<String, String> textures) {
+        List<ModelElement> result = new ArrayList<>(elements.size());
+        for (ModelElement element : elements) {
+            Map<Direction, ModelElementFace> faces = null;
+            for (Map.Entry<Direction, ModelElementFace> entry : element.faces.entrySet()) {
+                ModelElementFace face = entry.getValue();
+                if (!face.textureId.startsWith("#")) continue;
+
+                String tintKey = switch (face.textureId.substring(1)) {
+                    case "top", "end" -> "_tint_top";
+                    case "bottom" -> "_tint_bottom";
+                    case "side", "wall" -> "_tint_side";
+                    case "top_overlay" -> "_tint_top_overlay";
+                    case "bottom_overlay" -> "_tint_bottom_overlay";
+                    case "side_overlay", "overlay" -> "_tint_side_overlay";
+                    default -> null;
+                };
+
+                int tintIndex = -1;
+                if (tintKey != null && textures.containsKey(tintKey)) {
+                    try {
+                        tintIndex = Integer.parseInt(textures.get(tintKey));
+                    } catch (NumberFormatException ignored) {
+                        tintIndex = face.tintIndex;
                     }
                 }
+
+                if (tintIndex != face.tintIndex) {
+                    if (faces == null) faces = new EnumMap<>(element.faces);
+                    faces.put(entry.getKey(), new ModelElementFace(face.cullFace, tintIndex, face.textureId, face.textureData));
+                }
             }
+            result.add(faces == null ? element : new ModelElement(element.from, element.to, faces, element.rotation, element.shade));
         }
+        return result;
     }
 
     /**
@@ -402,10 +475,11 @@ public class RuntimeResourceGenerator {
      */
     private static void analyzeFaceTextures(Identifier modelId, Map<String, String> textures) {
         try {
-            JsonObject fullModel = loadModelHierarchy(modelId);
-            if (fullModel == null || !fullModel.has("elements")) {
+            ResolvedModel resolved = loadModelHierarchy(modelId);
+            if (resolved == null || !resolved.json().has("elements")) {
                 return;
             }
+            JsonObject fullModel = resolved.json();
 
             com.google.gson.JsonArray elements = fullModel.getAsJsonArray("elements");
             if (elements.isEmpty()) {
@@ -453,8 +527,13 @@ public class RuntimeResourceGenerator {
 
                     if (textureRef.startsWith("#")) {
                         String key = textureRef.substring(1);
-                        if (textures.containsKey(key)) {
-                            String texturePath = textures.get(key);
+                        // Look the reference up through the whole parent chain (e.g. cube_column's
+                        // "#up" -> "#end"), falling back to the block's own texture map.
+                        String texturePath = resolved.textures().get(key);
+                        if (texturePath == null || texturePath.startsWith("#")) {
+                            texturePath = textures.get(key);
+                        }
+                        if (texturePath != null) {
                             String suffix = (i == 0) ? "" : "_overlay";
 
                             if (face.equals("up")) {
@@ -494,37 +573,56 @@ public class RuntimeResourceGenerator {
      * <p>Example: quartz_block extends cube_column, which extends cube, which extends block.
      * This method resolves the entire chain.
      *
+     * <p>Results are cached per model ID until the next reload, so common parents like
+     * {@code cube_all} are parsed and merged once. The returned model is shared and must not be modified.
+     *
      * @param modelId The model identifier to load
-     * @return Merged JSON object containing all properties from the model hierarchy, or null if not found
+     * @return Merged model containing all properties from the model hierarchy, or null if not found
      */
-    private static JsonObject loadModelHierarchy(Identifier modelId) {
-        JsonObject merged = new JsonObject();
-        JsonObject current = loadModelJson(modelId);
+    private static ResolvedModel loadModelHierarchy(Identifier modelId) {
+        Optional<ResolvedModel> cached = MODEL_HIERARCHY_CACHE.get(modelId);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        ResolvedModel resolved = loadModelHierarchyUncached(modelId, new HashSet<>());
+        MODEL_HIERARCHY_CACHE.put(modelId, Optional.ofNullable(resolved));
+        return resolved;
+    }
 
-        if (current == null) {
+    private static ResolvedModel loadModelHierarchyUncached(Identifier modelId, Set<Identifier> visiting) {
+        JsonObject current = loadModelJson(modelId);
+        if (current == null || !visiting.add(modelId)) {
             return null;
         }
 
+        JsonObject merged = new JsonObject();
+
         // Recursively load parent models
         if (current.has("parent")) {
             String parentPath = current.get("parent").getAsString();
             Identifier parentId = resolveModelIdentifier(parentPath);
 
-            JsonObject parentModel = loadModelHierarchy(parentId);
+            Optional<ResolvedModel> cachedParent = MODEL_HIERARCHY_CACHE.get(parentId);
+            ResolvedModel parentModel = cachedParent != null ? cachedParent.orElse(null) : loadModelHierarchyUncached(parentId, visiting);
+            if (cachedParent == null) {
+                MODEL_HIERARCHY_CACHE.put(parentId, Optional.ofNullable(parentModel));
+            }
             if (parentModel != null) {
-                // Merge parent into current (parent properties first)
-                for (Map.Entry<String, com.google.gson.JsonElement> entry : parentModel.entrySet()) {
-                    merged.add(entry.getKey(), entry.getValue());
+                // Merge parent into current (parent properties first); the parent is shared, so
+                // its textures object is copied before child textures are merged into it.
+                for (Map.Entry<String, JsonElement> entry : parentModel.json().entrySet()) {
+                    merged.add(entry.getKey(), entry.getKey().equals("textures") ? entry.getValue().deepCopy() : entry.getValue());
                 }
             }
         }
 
         // Override/add current model properties
-        for (Map.Entry<String, com.google.gson.JsonElement> entry : current.entrySet()) {
+        for (Map.Entry<String, JsonElement> entry : current.entrySet()) {
             if (entry.getKey().equals("textures") && merged.has("textures")) {
                 JsonObject mergedTex = merged.getAsJsonObject("textures");
                 JsonObject currentTex = entry.getValue().getAsJsonObject();
-                for (Map.Entry<String, com.google.gson.JsonElement> texEntry : currentTex.entrySet()) {
+                for (Map.Entry<String, JsonElement> texEntry : currentTex.entrySet()) {
                     mergedTex.add(texEntry.getKey(), texEntry.getValue());
                 }
             } else {
@@ -532,25 +630,63 @@ public class RuntimeResourceGenerator {
             }
         }
 
-        return merged;
+        return new ResolvedModel(merged, resolveTextureReferences(merged));
+    }
+
+    /**
+     * Flattens a merged model's texture map, replacing "#key" references with what they point to.
+     * References that cannot be resolved within the hierarchy are kept as they are.
+     */
+    private static Map<String, String> resolveTextureReferences(JsonObject model) {
+        if (!model.has("textures")) {
+            return Map.of();
+        }
+
+        Map<String, String> raw = new HashMap<>();
+        for (Map.Entry<String, JsonElement> entry : model.getAsJsonObject("textures").entrySet()) {
+            if (entry.getValue().isJsonPrimitive()) {
+                raw.put(entry.getKey(), entry.getValue().getAsString());
+            }
+        }
+
+        Map<String, String> resolved = new HashMap<>(raw.size());
+        for (Map.Entry<String, String> entry : raw.entrySet()) {
+            String value = entry.getValue();
+            // Bounded walk so reference cycles end on the last reference seen.
+            for (int depth = 0; depth < raw.size() && value.startsWith("#"); depth++) {
+                String target = raw.get(value.substring(1));
+                if (target == null) break;
+                value = target;
+            }
+            resolved.put(entry.getKey(), value);
+        }
+        return Map.copyOf(resolved);
     }
 
     /**
-     * Loads a single model JSON file from the resource manager.
+     * Loads a single model JSON file from the resource manager, once per reload.
+     * The returned object is shared and must not be modified.
      *
      * @param modelId The model identifier
      * @return The parsed JSON object, or null if the model doesn't exist or fails to parse
      */
     private static JsonObject loadModelJson(Identifier modelId) {
+        Optional<JsonObject> cached = MODEL_JSON_CACHE.get(modelId);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        JsonObject parsed = null;
         Optional<Resource> resource = MinecraftClient.getInstance().getResourceManager().getResource(modelId);
         if (resource.isPresent()) {
             try (InputStreamReader reader = new InputStreamReader(resource.get().getInputStream())) {
-                return JsonParser.parseReader(reader).getAsJsonObject();
+                parsed = JsonParser.parseReader(reader).getAsJsonObject();
             } catch (Exception e) {
                 // Silent fail for missing models
             }
         }
-        return null;
+        MODEL_JSON_CACHE.put(modelId, Optional.ofNullable(parsed));
+        return parsed;
     }
 
     /**
@@ -566,98 +702,83 @@ public class RuntimeResourceGenerator {
      *   <li>Ensures "particle" is always set for proper break animations</li>
      * </ol>
      *
-     * @param texObj   The JSON object to add texture properties to (modified in place)
+     * @param texMap   The model's texture map to add entries to (modified in place)
      * @param textures The source texture mappings from the base block
      */
-    public static void applyTextures(JsonObject texObj, Map<String, String> textures) {
-
-        for (Map.Entry<String, String> entry : textures.entrySet()) {
-            texObj.addProperty(entry.getKey(), entry.getValue());
-        }
+    public static void applyTextures(Map<String, String> texMap, Map<String, String> textures) {
+        texMap.putAll(textures);
 
         // Handle cube_column models and other non-standard patterns
         // Map 'end' to top/bottom if those aren't already set
         String end = textures.get("end");
         if (end != null) {
-            if (!texObj.has("top")) texObj.addProperty("top", end);
-            if (!texObj.has("bottom")) texObj.addProperty("bottom", end);
+            texMap.putIfAbsent("top", end);
+            texMap.putIfAbsent("bottom", end);
         }
 
         // Ensure standard textures are present using 'all' as fallback
         String all = textures.get("all");
         if (all != null) {
-            if (!texObj.has("top")) texObj.addProperty("top", all);
-            if (!texObj.has("bottom")) texObj.addProperty("bottom", all);
-            if (!texObj.has("side")) texObj.addProperty("side", all);
+            texMap.putIfAbsent("top", all);
+            texMap.putIfAbsent("bottom", all);
+            texMap.putIfAbsent("side", all);
         }
 
         // Additional fallback: use 'side' for missing top/bottom if available
         String side = textures.get("side");
         if (side != null) {
-            if (!texObj.has("top")) texObj.addProperty("top", side);
-            if (!texObj.has("bottom")) texObj.addProperty("bottom", side);
+            texMap.putIfAbsent("top", side);
+            texMap.putIfAbsent("bottom", side);
         }
 
         // Ensure particle is set
-        if (!texObj.has("particle")) {
-            if (texObj.has("side")) {
-                texObj.addProperty("particle", texObj.get("side").getAsString());
-            } else if (texObj.has("top")) {
-                texObj.addProperty("particle", texObj.get("top").getAsString());
-            } else if (texObj.has("all")) {
-                texObj.addProperty("particle", texObj.get("all").getAsString());
+        if (!texMap.containsKey("particle")) {
+            if (texMap.containsKey("side")) {
+                texMap.put("particle", texMap.get("side"));
+            } else if (texMap.containsKey("top")) {
+                texMap.put("particle", texMap.get("top"));
+            } else if (texMap.containsKey("all")) {
+                texMap.put("particle", texMap.get("all"));
             }
         }
     }
 
-    private static JsonObject createSegmentElement(double x1, double y1, double z1, double x2, double y2, double z2,
-                                                   Map<String, String> cullfaces, Map<String, String> textures) {
-        JsonObject element = new JsonObject();
-        setFromTo(element, x1, y1, z1, x2, y2, z2);
-
-        JsonObject faces = new JsonObject();
-        element.add("faces", faces);
-
-        addFace(faces, "north", "#side", cullfaces.get("north"), new double[]{16 - x2, 16 - y2, 16 - x1, 16 - y1}, textures.get("_tint_side"));
-        addFace(faces, "south", "#side", cullfaces.get("south"), new double[]{x1, 16 - y2, x2, 16 - y1}, textures.get("_tint_side"));
-        addFace(faces, "up", "#top", cullfaces.get("up"), new double[]{x1, z1, x2, z2}, textures.get("_tint_top"));
-        addFace(faces, "down", "#bottom", cullfaces.get("down"), new double[]{x1, 16 - z2, x2, 16 - z1}, textures.get("_tint_bottom"));
-        addFace(faces, "east", "#side", cullfaces.get("east"), new double[]{16 - z2, 16 - y2, 16 - z1, 16 - y1}, textures.get("_tint_side"));
-        addFace(faces, "west", "#side", cullfaces.get("west"), new double[]{z1, 16 - y2, z2, 16 - y1}, textures.get("_tint_side"));
-
-        return element;
+    private static ModelElement createSegmentElement(float x1, float y1, float z1, float x2, float y2, float z2,
+                                                     Map<String, String> cullfaces, Map<String, String> textures) {
+        Map<Direction, ModelElementFace> faces = new EnumMap<>(Direction.class);
+        addFace(faces, Direction.NORTH, "#side", cullfaces, new float[]{16 - x2, 16 - y2, 16 - x1, 16 - y1}, textures.get("_tint_side"));
+        addFace(faces, Direction.SOUTH, "#side", cullfaces, new float[]{x1, 16 - y2, x2, 16 - y1}, textures.get("_tint_side"));
+        addFace(faces, Direction.UP, "#top", cullfaces, new float[]{x1, z1, x2, z2}, textures.get("_tint_top"));
+        addFace(faces, Direction.DOWN, "#bottom", cullfaces, new float[]{x1, 16 - z2, x2, 16 - z1}, textures.get("_tint_bottom"));
+        addFace(faces, Direction.EAST, "#side", cullfaces, new float[]{16 - z2, 16 - y2, 16 - z1, 16 - y1}, textures.get("_tint_side"));
+        addFace(faces, Direction.WEST, "#side", cullfaces, new float[]{z1, 16 - y2, z2, 16 - y1}, textures.get("_tint_side"));
+        return new ModelElement(new Vector3f(x1, y1, z1), new Vector3f(x2, y2, z2), faces, null, true);
     }
 
-    private static JsonObject createOverlaySegmentElement(double x1, double y1, double z1, double x2, double y2, double z2,
-                                                          Map<String, String> cullfaces, Map<String, String> textures) {
-        JsonObject element = new JsonObject();
-        setFromTo(element, x1, y1, z1, x2, y2, z2);
-
-        JsonObject faces = new JsonObject();
-        element.add("faces", faces);
-
+    private static ModelElement createOverlaySegmentElement(float x1, float y1, float z1, float x2, float y2, float z2,
+                                                            Map<String, String> cullfaces, Map<String, String> textures) {
+        Map<Direction, ModelElementFace> faces = new EnumMap<>(Direction.class);
         if (textures.containsKey("side_overlay")) {
-            addFace(faces, "north", "#side_overlay", cullfaces.get("north"), new double[]{16 - x2, 16 - y2, 16 - x1, 16 - y1}, textures.get("_tint_side_overlay"));
-            addFace(faces, "south", "#side_overlay", cullfaces.get("south"), new double[]{x1, 16 - y2, x2, 16 - y1}, textures.get("_tint_side_overlay"));
-            addFace(faces, "east", "#side_overlay", cullfaces.get("east"), new double[]{16 - z2, 16 - y2, 16 - z1, 16 - y1}, textures.get("_tint_side_overlay"));
-            addFace(faces, "west", "#side_overlay", cullfaces.get("west"), new double[]{z1, 16 - y2, z2, 16 - y1}, textures.get("_tint_side_overlay"));
+            addFace(faces, Direction.NORTH, "#side_overlay", cullfaces, new float[]{16 - x2, 16 - y2, 16 - x1, 16 - y1}, textures.get("_tint_side_overlay"));
+            addFace(faces, Direction.SOUTH, "#side_overlay", cullfaces, new float[]{x1, 16 - y2, x2, 16 - y1}, textures.get("_tint_side_overlay"));
+            addFace(faces, Direction.EAST, "#side_overlay", cullfaces, new float[]{16 - z2, 16 - y2, 16 - z1, 16 - y1}, textures.get("_tint_side_overlay"));
+            addFace(faces, Direction.WEST, "#side_overlay", cullfaces, new float[]{z1, 16 - y2, z2, 16 - y1}, textures.get("_tint_side_overlay"));
         }
         if (textures.containsKey("top_overlay")) {
-            addFace(faces, "up", "#top_overlay", cullfaces.get("up"), new double[]{x1, z1, x2, z2}, textures.get("_tint_top_overlay"));
+            addFace(faces, Direction.UP, "#top_overlay", cullfaces, new float[]{x1, z1, x2, z2}, textures.get("_tint_top_overlay"));
         }
         if (textures.containsKey("bottom_overlay")) {
-            addFace(faces, "down", "#bottom_overlay", cullfaces.get("down"), new double[]{x1, 16 - z2, x2, 16 - z1}, textures.get("_tint_bottom_overlay"));
+            addFace(faces, Direction.DOWN, "#bottom_overlay", cullfaces, new float[]{x1, 16 - z2, x2, 16 - z1}, textures.get("_tint_bottom_overlay"));
         }
-
-        return element;
+        return new ModelElement(new Vector3f(x1, y1, z1), new Vector3f(x2, y2, z2), faces, null, true);
     }
 
     /**
-     * Generates a step model JSON for a specific combination of quadrants.
+     * Generates a step model for a specific combination of quadrants.
      */
-    public static String generateStepModelForSegments(StepBlock.StepAxis axis, boolean downFront, boolean downBack, boolean upFront, boolean upBack, Map<String, String> textures) {
+    public static JsonUnbakedModel generateStepModelForSegments(StepBlock.StepAxis axis, boolean downFront, boolean downBack, boolean upFront, boolean upBack, Map<String, String> textures) {
         return generateSegmentedModel("models/block/step.json", textures, elements -> {
-            double xMinF = 0, xMaxF = 8, xMinB = 8, xMaxB = 16, zMinF = 0, zMaxF = 16, zMinB = 0, zMaxB = 16;
+            float xMinF = 0, xMaxF = 8, xMinB = 8, xMaxB = 16, zMinF = 0, zMaxF = 16, zMinB = 0, zMaxB = 16;
             Map<String, String> cullF = Map.of("west", "west", "down", "down", "up", "up", "north", "north", "south", "south");
             Map<String, String> cullB = Map.of("east", "east", "down", "down", "up", "up", "north", "north", "south", "south");
 
@@ -696,9 +817,9 @@ public class RuntimeResourceGenerator {
     }
 
     /**
-     * Generates a vertical step model JSON for a specific combination of quadrants.
+     * Generates a vertical step model for a specific combination of quadrants.
      */
-    public static String generateVerticalStepModelForSegments(boolean nw, boolean ne, boolean sw, boolean se, Map<String, String> textures) {
+    public static JsonUnbakedModel generateVerticalStepModelForSegments(boolean nw, boolean ne, boolean sw, boolean se, Map<String, String> textures) {
         return generateSegmentedModel("models/block/vertical_step.json", textures, elements -> {
             if (nw)
                 elements.add(createSegmentElement(0, 0, 0, 8, 16, 8, Map.of("north", "north", "west", "west", "up", "up", "down", "down"), textures));
@@ -723,51 +844,25 @@ public class RuntimeResourceGenerator {
         });
     }
 
-    private static String generateSegmentedModel(String templatePath, Map<String, String> textures, java.util.function.Consumer<com.google.gson.JsonArray> elementBuilder) {
-        JsonObject template = loadTemplateJson(templatePath);
+    private static JsonUnbakedModel generateSegmentedModel(String templatePath, Map<String, String> textures, java.util.function.Consumer<List<ModelElement>> elementBuilder) {
+        ModelTemplate template = loadTemplateModel(templatePath);
         if (template == null) return null;
 
-        if (template.has("textures")) {
-            applyTextures(template.getAsJsonObject("textures"), textures);
-        }
-
-        com.google.gson.JsonArray elements = new com.google.gson.JsonArray();
-        template.add("elements", elements);
+        List<ModelElement> elements = new ArrayList<>();
         elementBuilder.accept(elements);
-
-        return template.toString();
+        return buildModel(template, elements, textures);
     }
 
-    private static void addFace(JsonObject faces, String side, String texture, String cullface, double[] uv, String tintIndex) {
-        JsonObject face = new JsonObject();
-        face.addProperty("texture", texture);
+    private static void addFace(Map<Direction, ModelElementFace> faces, Direction side, String texture, Map<String, String> cullfaces, float[] uv, String tintIndex) {
+        int tint = -1;
         if (tintIndex != null) {
             try {
-                face.addProperty("tintindex", Integer.parseInt(tintIndex));
+                tint = Integer.parseInt(tintIndex);
             } catch (NumberFormatException ignored) {
             }
         }
-        if (cullface != null) face.addProperty("cullface", cullface);
-
-        com.google.gson.JsonArray uvArray = new com.google.gson.JsonArray();
-        for (double v : uv) uvArray.add(v);
-        face.add("uv", uvArray);
-
-        faces.add(side, face);
-    }
-
-    private static void setFromTo(JsonObject element, double x1, double y1, double z1, double x2, double y2, double z2) {
-        com.google.gson.JsonArray from = new com.google.gson.JsonArray();
-        from.add(x1);
-        from.add(y1);
-        from.add(z1);
-        element.add("from", from);
-
-        com.google.gson.JsonArray to = new com.google.gson.JsonArray();
-        to.add(x2);
-        to.add(y2);
-        to.add(z2);
-        element.add("to", to);
+        String cullface = cullfaces.get(side.getName());
+        faces.put(side, new ModelElementFace(cullface != null ? Direction.byName(cullface) : null, tint, texture, new ModelElementTexture(uv, 0)));
     }
 
     public static String loadTemplate(String path) {
@@ -796,18 +891,21 @@ public class RuntimeResourceGenerator {
         return null;
     }
 
-    public static JsonObject loadTemplateJson(String path) {
-        JsonObject cached = TEMPLATE_JSON_CACHE.get(path);
+    /**
+     * Loads a model template, parsed once per reload and shared by every model generated from it.
+     */
+    public static ModelTemplate loadTemplateModel(String path) {
+        ModelTemplate cached = TEMPLATE_MODEL_CACHE.get(path);
         if (cached != null) {
-            return cached.deepCopy();
+            return cached;
         }
 
         String template = loadTemplate(path);
         if (template != null) {
             try {
-                JsonObject parsed = JsonParser.parseString(template).getAsJsonObject();
-                TEMPLATE_JSON_CACHE.put(path, parsed);
-                return parsed.deepCopy();
+                ModelTemplate parsed = ModelTemplate.parse(JsonParser.parseString(template).getAsJsonObject());
+                TEMPLATE_MODEL_CACHE.put(path, parsed);
+                return parsed;
             } catch (Exception e) {
                 Reshaped.LOGGER.error("Failed to parse template JSON: {}", path, e);
             }
@@ -826,25 +924,65 @@ public class RuntimeResourceGenerator {
         return result;
     }
 
+    /**
+     * Resolves the texture mapping of a base block's model, for the given random candidate index.
+     * The returned map is shared and immutable; callers that need to change it must copy it first.
+     */
     public static Map<String, String> getModelTextures(Block block, int preferredCandidateIndex) {
-        Identifier blockId = Registries.BLOCK.getId(block);
-        String cacheKey = blockId + "#" + preferredCandidateIndex;
+        List<ModelCandidate> candidates = resolveBlockModelCandidates(block);
+        // Out-of-range indices fall back to the first candidate, and blocks without candidates ignore the index.
+        int idx = !candidates.isEmpty() && preferredCandidateIndex >= 0 && preferredCandidateIndex < candidates.size() ? preferredCandidateIndex : 0;
+        long cacheKey = textureKey(Registries.BLOCK.getRawId(block), idx);
+
+        Map<String, String> cached = TEXTURE_CACHE.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, String> textures = internTextures(resolveModelTextures(block, candidates, idx));
+        TEXTURE_CACHE.put(cacheKey, textures);
+        return textures;
+    }
+
+    private static long textureKey(int rawId, int candidateIndex) {
+        return ((long) rawId << 32) | (candidateIndex & 0xFFFFFFFFL);
+    }
+
+    private static Map<String, String> internTextures(Map<String, String> textures) {
+        Map<String, String> immutable = Map.copyOf(textures);
+        Map<String, String> existing = TEXTURE_SETS.putIfAbsent(immutable, immutable);
+        return existing != null ? existing : immutable;
+    }
 
-        // Check cache first
-        if (TEXTURE_CACHE.containsKey(cacheKey)) {
-            return new HashMap<>(TEXTURE_CACHE.get(cacheKey));
+    /**
+     * Approximate retained size of the texture caches: the cache entries themselves plus each
+     * distinct texture set and its strings (strings shared between sets are counted once).
+     */
+    public static String describeTextureCache() {
+        Set<String> strings = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = TEXTURE_CACHE.size() * 64L; // key box + CHM node
+        for (Map<String, String> set : TEXTURE_SETS.keySet()) {
+            bytes += 32L + set.size() * 16L; // immutable map + key/value slots
+            for (Map.Entry<String, String> entry : set.entrySet()) {
+                strings.add(entry.getKey());
+                strings.add(entry.getValue());
+            }
+        }
+        for (String string : strings) {
+            bytes += 40L + string.length();
         }
+        return String.format("%d keys -> %d texture sets, ~%d KB", TEXTURE_CACHE.size(), TEXTURE_SETS.size(), bytes / 1024L);
+    }
 
+    private static Map<String, String> resolveModelTextures(Block block, List<ModelCandidate> candidates, int idx) {
+        Identifier blockId = Registries.BLOCK.getId(block);
         Map<String, String> textures = new HashMap<>();
 
-        List<ModelCandidate> candidates = resolveBlockModelCandidates(block);
         if (!candidates.isEmpty()) {
-            int idx = preferredCandidateIndex >= 0 && preferredCandidateIndex < candidates.size() ? preferredCandidateIndex : 0;
             ModelCandidate candidate = candidates.get(idx);
             Identifier candidateModelJsonId = new Identifier(candidate.modelId().getNamespace(), "models/" + candidate.modelId().getPath() + ".json");
             if (loadTexturesFromModel(candidateModelJsonId, textures)) {
                 analyzeFaceTextures(candidateModelJsonId, textures);
-                TEXTURE_CACHE.put(cacheKey, new HashMap<>(textures));
                 return textures;
             }
         }
@@ -854,7 +992,6 @@ public class RuntimeResourceGenerator {
         if (loadTexturesFromModel(modelId, textures)) {
             // Perform dynamic analysis
             analyzeFaceTextures(modelId, textures);
-            TEXTURE_CACHE.put(cacheKey, new HashMap<>(textures));
             return textures;
         }
 
@@ -902,20 +1039,16 @@ public class RuntimeResourceGenerator {
             }
         }
 
-        TEXTURE_CACHE.put(cacheKey, new HashMap<>(textures));
         return textures;
     }
 
     private static boolean loadTexturesFromModel(Identifier modelId, Map<String, String> textures) {
-        Optional<Resource> resource = MinecraftClient.getInstance().getResourceManager().getResource(modelId);
-        if (resource.isPresent()) {
-            try (InputStreamReader reader = new InputStreamReader(resource.get().getInputStream())) {
-                JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
-                if (json.has("textures")) {
-                    JsonObject textureJson = json.getAsJsonObject("textures");
-                    textureJson.entrySet().forEach(entry -> textures.put(entry.getKey(), entry.getValue().getAsString()));
-                    return true;
-                }
+        JsonObject json = loadModelJson(modelId);
+        if (json != null && json.has("textures")) {
+            try {
+                JsonObject textureJson = json.getAsJsonObject("textures");
+                textureJson.entrySet().forEach(entry -> textures.put(entry.getKey(), entry.getValue().getAsString()));
+                return true;
             } catch (Exception e) {
                 Reshaped.LOGGER.error("Failed to read model: {}", modelId, e);
             }
@@ -1161,4 +1294,54 @@ public class RuntimeResourceGenerator {
 
     public record ModelCandidate(Identifier modelId, int x, int y, boolean uvlock, int weight) {
     }
+
+    /**
+     * A model with its parent chain merged in, plus its texture map with references resolved.
+     */
+    private record ResolvedModel(JsonObject json, Map<String, String> textures) {
+    }
+
+    /**
+     * A model file reduced to what generated models copy from it. Elements are parsed with the
+     * vanilla model deserializers and shared between generated models, which never modify them.
+     */
+    public record ModelTemplate(@Nullable Identifier parentId, List<ModelElement> elements, Map<String, String> textures,
+                                boolean ambientOcclusion, @Nullable JsonUnbakedModel.GuiLight guiLight,
+                                ModelTransformation transformation) {
+
+        public ModelTemplate withoutParent() {
+            return new ModelTemplate(null, elements, textures, ambientOcclusion, guiLight, transformation);
+        }
+
+        public static ModelTemplate of(Identifier parentId) {
+            return new ModelTemplate(parentId, List.of(), Map.of(), true, null, ModelTransformation.NONE);
+        }
+
+        public static ModelTemplate parse(JsonObject json) {
+            Gson gson = JsonUnbakedModelAccessor.getGson();
+            Identifier parentId = json.has("parent") ? new Identifier(json.get("parent").getAsString()) : null;
+
+            List<ModelElement> elements = new ArrayList<>();
+            if (json.has("elements")) {
+                for (JsonElement element : json.getAsJsonArray("elements")) {
+                    elements.add(gson.fromJson(element, ModelElement.class));
+                }
+            }
+
+            Map<String, String> textures = new LinkedHashMap<>();
+            if (json.has("textures")) {
+                for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("textures").entrySet()) {
+                    textures.put(entry.getKey(), entry.getValue().getAsString());
+                }
+            }
+
+            boolean ambientOcclusion = !json.has("ambientocclusion") || json.get("ambientocclusion").getAsBoolean();
+            JsonUnbakedModel.GuiLight guiLight = json.has("gui_light") ? JsonUnbakedModel.GuiLight.byName(json.get("gui_light").getAsString()) : null;
+            ModelTransformation transformation = json.has("display")
+                    ? gson.fromJson(json.get("display"), ModelTransformation.class)
+                    : ModelTransformation.NONE;
+
+            return new ModelTemplate(parentId, List.copyOf(elements), Collections.unmodifiableMap(textures), ambientOcclusion, guiLight, transformation);
+        }
+    }
 }
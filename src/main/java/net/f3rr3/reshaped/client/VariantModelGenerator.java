@@ -0,0 +1,179 @@
+package net.f3rr3.reshaped.client;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.block.Step.StepBlock;
+import net.f3rr3.reshaped.registry.BlockVariantType;
+import net.f3rr3.reshaped.registry.VariantRegistry;
+import net.minecraft.block.Block;
+import net.minecraft.client.render.model.json.JsonUnbakedModel;
+import net.minecraft.client.render.model.json.ModelElement;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the runtime models of the variants in {@link VariantRegistry}, keyed by
+ * {@link BlockVariantType#getName()}. The variant types themselves are common code and only
+ * register blocks; everything touching client model classes lives here.
+ */
+public final class VariantModelGenerator {
+    private static final String[] CORNER_SEGMENT_TEMPLATES = {
+            "corner_down_nw", "corner_down_ne", "corner_down_sw", "corner_down_se",
+            "corner_up_nw", "corner_up_ne", "corner_up_sw", "corner_up_se"
+    };
+
+    private static final Map<String, ModelFactory> FACTORIES = new HashMap<>();
+
+    static {
+        FACTORIES.put("vertical_slab", VariantModelGenerator::verticalSlab);
+        FACTORIES.put("vertical_stairs", VariantModelGenerator::verticalStairs);
+        FACTORIES.put("corner", VariantModelGenerator::corner);
+        FACTORIES.put("step", VariantModelGenerator::step);
+        FACTORIES.put("vertical_step", VariantModelGenerator::verticalStep);
+    }
+
+    private VariantModelGenerator() {
+    }
+
+    /**
+     * Generates the unbaked model for {@code path}, trying the variants in registry order.
+     * Returns null if no variant handles the path.
+     */
+    public static JsonUnbakedModel generateModel(String path, Block block) {
+        for (BlockVariantType variant : VariantRegistry.getVariants()) {
+            ModelFactory factory = FACTORIES.get(variant.getName());
+            if (factory == null) continue;
+            JsonUnbakedModel model = factory.generate(path, block);
+            if (model != null) return model;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface ModelFactory {
+        JsonUnbakedModel generate(String path, Block block);
+    }
+
+    private static JsonUnbakedModel verticalSlab(String path, Block block) {
+        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
+        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
+        if (cleanPath.contains("_vertical_slab")) {
+            Block baseBlock = Reshaped.MATRIX.getBaseBlock(block);
+            if (baseBlock != null) {
+                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
+                return RuntimeResourceGenerator.generateModelFromTemplate("block/vertical_slab", textures);
+            }
+        }
+        return null;
+    }
+
+    private static JsonUnbakedModel verticalStairs(String path, Block block) {
+        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
+        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
+        if (cleanPath.contains("_vertical_stairs")) {
+            Block baseBlock = Reshaped.MATRIX.getBaseBlock(block);
+            if (baseBlock != null) {
+                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
+                String template = RuntimeResourceGenerator.isTransparentBlock(baseBlock)
+                        ? "block/transparent/verical_stairs"
+                        : "block/verical_stairs";
+                return RuntimeResourceGenerator.generateModelFromTemplate(template, textures);
+            }
+        }
+        return null;
+    }
+
+    private static JsonUnbakedModel corner(String path, Block block) {
+        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
+        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
+        if (cleanPath.contains("_corner")) {
+            Block baseBlock = Reshaped.MATRIX.getBaseBlock(block);
+            if (baseBlock != null) {
+                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
+
+                // Extract bits from path (e.g., _11010010)
+                int bitIndex = cleanPath.lastIndexOf('_');
+                if (bitIndex != -1 && cleanPath.length() - bitIndex == 9) {
+                    String bits = cleanPath.substring(bitIndex + 1);
+
+                    List<ModelElement> elements = new ArrayList<>();
+                    for (int i = 0; i < 8; i++) {
+                        if (bits.charAt(i) == '1') {
+                            RuntimeResourceGenerator.ModelTemplate segment = RuntimeResourceGenerator.loadTemplateModel("models/block/" + CORNER_SEGMENT_TEMPLATES[i] + ".json");
+                            if (segment != null) {
+                                elements.addAll(segment.elements());
+                            }
+                        }
+                    }
+
+                    return RuntimeResourceGenerator.buildModel(
+                            RuntimeResourceGenerator.ModelTemplate.of(new Identifier("minecraft", "block/block")),
+                            RuntimeResourceGenerator.withOverlays(elements, textures, true),
+                            textures
+                    );
+                } else if (cleanPath.endsWith("_corner")) {
+                    // Item model default (just NW corner bitmask: 10000000)
+                    return corner(cleanPath + "_10000000", block);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static JsonUnbakedModel step(String path, Block block) {
+        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
+        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
+        if (cleanPath.contains("_step") && !cleanPath.contains("_vertical_step")) {
+            // Check for segment mask (e.g. "_1010")
+            // Default to single segment (1000 - Down Front) if no mask found
+            String mask = RuntimeResourceGenerator.extractMaskSuffix(cleanPath);
+            boolean[] segments = RuntimeResourceGenerator.parseMaskOrDefault(mask, true, false, false, false);
+
+            Block targetBlock = RuntimeResourceGenerator.resolveBlockForPath(cleanPath, block);
+            Block baseBlock = Reshaped.MATRIX.getBaseBlock(targetBlock);
+            if (baseBlock != null) {
+                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
+                StepBlock.StepAxis axis = RuntimeResourceGenerator.extractStepAxis(cleanPath);
+                if (axis == null) axis = StepBlock.StepAxis.EAST_WEST;
+
+                return RuntimeResourceGenerator.generateStepModelForSegments(
+                        axis,
+                        segments[0],
+                        segments[1],
+                        segments[2],
+                        segments[3],
+                        textures
+                );
+            }
+        }
+        return null;
+    }
+
+    private static JsonUnbakedModel verticalStep(String path, Block block) {
+        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
+        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
+        if (cleanPath.contains("_vertical_step")) {
+            // Check for segment mask (e.g. "_1010")
+            // Default to single segment (1000 - North West) if no mask found
+            String maskString = RuntimeResourceGenerator.extractMaskSuffix(cleanPath);
+            boolean[] segments = RuntimeResourceGenerator.parseMaskOrDefault(maskString, true, false, false, false);
+
+            Block targetBlock = RuntimeResourceGenerator.resolveBlockForPath(cleanPath, block);
+            Block baseBlock = Reshaped.MATRIX.getBaseBlock(targetBlock);
+            if (baseBlock != null) {
+                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
+                return RuntimeResourceGenerator.generateVerticalStepModelForSegments(
+                        segments[0],
+                        segments[1],
+                        segments[2],
+                        segments[3],
+                        textures
+                );
+            }
+        }
+        return null;
+    }
+}
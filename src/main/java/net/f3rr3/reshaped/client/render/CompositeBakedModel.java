@@ -1,40 +1,42 @@
 package net.f3rr3.reshaped.client.render;
 
-import net.f3rr3.reshaped.Reshaped;
-import net.f3rr3.reshaped.block.BlockSegmentUtils;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
 import net.f3rr3.reshaped.block.Corner.CornerBlock;
-import net.f3rr3.reshaped.block.Corner.CornerBlockEntity;
 import net.f3rr3.reshaped.block.Corner.MixedCornerBlock;
 import net.f3rr3.reshaped.block.Slab.MixedSlabBlock;
-import net.f3rr3.reshaped.block.Slab.SlabBlockEntity;
 import net.f3rr3.reshaped.block.Step.MixedStepBlock;
 import net.f3rr3.reshaped.block.Step.StepBlock;
-import net.f3rr3.reshaped.block.Step.StepBlockEntity;
+import net.f3rr3.reshaped.block.Template.MixedBlockEntity;
 import net.f3rr3.reshaped.block.VerticalSlab.MixedVerticalSlabBlock;
 import net.f3rr3.reshaped.block.VerticalSlab.VerticalSlabBlock;
-import net.f3rr3.reshaped.block.VerticalSlab.VerticalSlabBlockEntity;
 import net.f3rr3.reshaped.block.VerticalStep.MixedVerticalStepBlock;
 import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
-import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlockEntity;
 import net.fabricmc.fabric.api.renderer.v1.model.ForwardingBakedModel;
 import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.SlabBlock;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.model.BakedModel;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.BlockRenderView;
 
 import java.util.function.Supplier;
 
 public class CompositeBakedModel extends ForwardingBakedModel {
+    private final SegmentModelCache segmentModels;
+
     public CompositeBakedModel(BakedModel baseModel) {
+        this(baseModel, SegmentModelCache.CLIENT);
+    }
+
+    public CompositeBakedModel(BakedModel baseModel, SegmentModelCache segmentModels) {
         this.wrapped = baseModel;
+        this.segmentModels = segmentModels;
     }
 
     @Override
@@ -45,236 +47,55 @@ public class CompositeBakedModel extends ForwardingBakedModel {
     @Override
     public void emitBlockQuads(BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
         Block block = state.getBlock();
-        BlockEntity be = blockView.getBlockEntity(pos);
 
+        // Unmixed blocks have no block entity and fall back to their own material for every segment.
+        SegmentModelCache.Kind kind;
+        Class<? extends Block> unmixedType;
         if (block instanceof CornerBlock || block instanceof MixedCornerBlock) {
-            renderCornerBlock(blockView, state, pos, randomSupplier, context, be);
+            kind = SegmentModelCache.Kind.CORNER;
+            unmixedType = CornerBlock.class;
         } else if (block instanceof VerticalStepBlock || block instanceof MixedVerticalStepBlock) {
-            renderVerticalStepBlock(blockView, state, pos, randomSupplier, context, be);
+            // Indices: 0=NW, 1=NE, 2=SW, 3=SE (must match BE)
+            kind = SegmentModelCache.Kind.VERTICAL_STEP;
+            unmixedType = VerticalStepBlock.class;
         } else if (block instanceof StepBlock || block instanceof MixedStepBlock) {
-            renderStepBlock(blockView, state, pos, randomSupplier, context, be);
+            // DF, DB, UF, UB
+            kind = state.get(StepBlock.AXIS) == StepBlock.StepAxis.NORTH_SOUTH
+                    ? SegmentModelCache.Kind.STEP_NORTH_SOUTH
+                    : SegmentModelCache.Kind.STEP_EAST_WEST;
+            unmixedType = StepBlock.class;
         } else if (block instanceof VerticalSlabBlock || block instanceof MixedVerticalSlabBlock) {
-            renderVerticalSlabBlock(blockView, state, pos, randomSupplier, context, be);
+            // 0=Negative (North/West), 1=Positive (South/East)
+            kind = state.get(MixedVerticalSlabBlock.AXIS) == Direction.Axis.Z
+                    ? SegmentModelCache.Kind.VERTICAL_SLAB_Z
+                    : SegmentModelCache.Kind.VERTICAL_SLAB_X;
+            unmixedType = VerticalSlabBlock.class;
         } else if (block instanceof SlabBlock || block instanceof MixedSlabBlock) {
-            renderSlabBlock(blockView, state, pos, randomSupplier, context, be);
+            // 0=Bottom, 1=Top
+            kind = SegmentModelCache.Kind.SLAB;
+            unmixedType = SlabBlock.class;
         } else {
             super.emitBlockQuads(blockView, state, pos, randomSupplier, context);
+            return;
         }
-    }
-
-    private void renderCornerBlock(BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context, BlockEntity be) {
-        CornerBlockEntity cbe = (be instanceof CornerBlockEntity entity) ? entity : null;
-
-        for (int i = 0; i < 8; i++) {
-            if (isCornerBitSet(state, i)) {
-                Identifier materialId = (cbe != null) ? cbe.getCornerMaterial(i) : null;
-                if (materialId == null) {
-                    if (state.getBlock() instanceof CornerBlock) materialId = Registries.BLOCK.getId(state.getBlock());
-                    else continue;
-                }
-
-                String path = cleanPath(materialId.getPath(), "_corner");
-                String mask = getCornerBitMask(i);
-                Identifier segmentModelId = new Identifier(Reshaped.MOD_ID, "block/" + path + "_corner_" + mask);
-                renderModel(segmentModelId, blockView, state, pos, randomSupplier, context);
-            }
-        }
-    }
-
-    private void renderVerticalStepBlock(BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context, BlockEntity be) {
-        VerticalStepBlockEntity verticalStepBlockEntity = (be instanceof VerticalStepBlockEntity entity) ? entity : null;
-
-        // NW=8, NE=4, SW=2, SE=1 (matching bitmask logic in Plugin)
-        // Indices: 0-NW, 1-NE, 2-SW, 3-SE (arbitrary mapping, must match BE)
-        // Plugin used: NW=8, NE=4, SW=2, SE=1.
-        // Let's use BE index: 0=NW, 1=NE, 2=SW, 3=SE
-
-        for (int i = 0; i < 4; i++) {
-            if (isVerticalStepBitSet(state, i)) {
-                Identifier materialId = (verticalStepBlockEntity != null) ? verticalStepBlockEntity.getMaterial(i) : null;
-                if (materialId == null) {
-                    if (state.getBlock() instanceof VerticalStepBlock)
-                        materialId = Registries.BLOCK.getId(state.getBlock());
-                    else continue;
-                }
-
-                String path = cleanPath(materialId.getPath(), "_vertical_step");
-                String mask = getVerticalStepBitMask(i); // 1000, 0100, 0010, 0001
-                Identifier segmentModelId = new Identifier(Reshaped.MOD_ID, "block/" + path + "_vertical_step_" + mask);
-                renderModel(segmentModelId, blockView, state, pos, randomSupplier, context);
-            }
-        }
-    }
-
-    private void renderStepBlock(BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context, BlockEntity be) {
-        StepBlockEntity stepBlockEntity = (be instanceof StepBlockEntity entity) ? entity : null;
-        // DF, DB, UF, UB
-
-        for (int i = 0; i < 4; i++) {
-            if (isStepBitSet(state, i)) {
-                Identifier materialId = (stepBlockEntity != null) ? stepBlockEntity.getMaterial(i) : null;
-                if (materialId == null) {
-                    if (state.getBlock() instanceof StepBlock) materialId = Registries.BLOCK.getId(state.getBlock());
-                    else continue;
-                }
-
-                String path = cleanPath(materialId.getPath(), "_step");
-                StepBlock.StepAxis axis = state.get(StepBlock.AXIS);
-                String axisSuffix = axis == StepBlock.StepAxis.NORTH_SOUTH ? "_nortsouth" : "_eastwest";
-                String mask = getStepBitMask(i);
-                Identifier segmentModelId = new Identifier(Reshaped.MOD_ID, "block/" + path + "_step" + axisSuffix + "_" + mask);
-
-                renderModel(segmentModelId, blockView, state, pos, randomSupplier, context);
-            }
-        }
-    }
-
-    private void renderVerticalSlabBlock(BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context, BlockEntity be) {
-        VerticalSlabBlockEntity verticalSlabBlockEntity = (be instanceof VerticalSlabBlockEntity entity) ? entity : null;
-
-        net.minecraft.util.math.Direction.Axis axis = state.get(MixedVerticalSlabBlock.AXIS);
-
-        // 0=Negative (North/West), 1=Positive (South/East)
-        for (int i = 0; i < 2; i++) {
-            if (isVerticalSlabBitSet(state, i)) {
-                Identifier materialId = (verticalSlabBlockEntity != null) ? verticalSlabBlockEntity.getMaterial(i) : null;
-                if (materialId == null) {
-                    if (state.getBlock() instanceof VerticalSlabBlock)
-                        materialId = Registries.BLOCK.getId(state.getBlock());
-                    else continue;
-                }
 
-                Block materialBlock = Registries.BLOCK.get(materialId);
-                if (materialBlock instanceof VerticalSlabBlock) {
-                    net.minecraft.util.math.Direction targetFacing;
-                    if (axis == net.minecraft.util.math.Direction.Axis.Z) {
-                        targetFacing = (i == 0) ? net.minecraft.util.math.Direction.NORTH : net.minecraft.util.math.Direction.SOUTH;
-                    } else {
-                        targetFacing = (i == 0) ? net.minecraft.util.math.Direction.WEST : net.minecraft.util.math.Direction.EAST;
-                    }
-
-                    BlockState targetState = materialBlock.getDefaultState().with(VerticalSlabBlock.FACING, targetFacing);
-                    BakedModel model = MinecraftClient.getInstance().getBlockRenderManager().getModel(targetState);
-                    renderModel(model, blockView, state, pos, randomSupplier, context);
-                }
-            }
-        }
-    }
+        BlockEntity be = blockView.getBlockEntity(pos);
+        MixedBlockEntity mixed = be instanceof MixedBlockEntity entity ? entity : null;
+        Block fallback = unmixedType.isInstance(block) ? block : null;
+        BakedModel missing = segmentModels.missingModel();
 
-    private void renderSlabBlock(BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context, BlockEntity be) {
-        SlabBlockEntity slabBlockEntity = (be instanceof SlabBlockEntity entity) ? entity : null;
+        for (int occupancy = SegmentOccupancy.mask(state); occupancy != 0; occupancy &= occupancy - 1) {
+            int i = Integer.numberOfTrailingZeros(occupancy);
+            if (i >= kind.segments()) break;
 
-        // 0=Bottom, 1=Top
-        for (int i = 0; i < 2; i++) {
-            if (isSlabBitSet(state, i)) {
-                Identifier materialId = (slabBlockEntity != null) ? slabBlockEntity.getMaterial(i) : null;
-                if (materialId == null) {
-                    if (state.getBlock() instanceof SlabBlock) materialId = Registries.BLOCK.getId(state.getBlock());
-                    else continue;
-                }
+            Identifier materialId = mixed != null ? mixed.getMaterial(i) : null;
+            Block material = materialId != null ? Registries.BLOCK.get(materialId) : fallback;
+            if (material == null) continue;
 
-                Block materialBlock = Registries.BLOCK.get(materialId);
-                if (materialBlock instanceof SlabBlock) {
-                    net.minecraft.block.enums.SlabType type = (i == 0) ? net.minecraft.block.enums.SlabType.BOTTOM : net.minecraft.block.enums.SlabType.TOP;
-                    BlockState targetState = materialBlock.getDefaultState().with(SlabBlock.TYPE, type);
-                    BakedModel model = MinecraftClient.getInstance().getBlockRenderManager().getModel(targetState);
-                    renderModel(model, blockView, state, pos, randomSupplier, context);
-                }
+            BakedModel model = segmentModels.get(kind, material, i);
+            if (model != missing) {
+                model.emitBlockQuads(blockView, state, pos, randomSupplier, context);
             }
         }
     }
-
-    private void renderModel(Identifier modelId, BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
-        BakedModel model = MinecraftClient.getInstance().getBakedModelManager().getModel(modelId);
-        renderModel(model, blockView, state, pos, randomSupplier, context);
-    }
-
-    private void renderModel(BakedModel model, BlockRenderView blockView, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
-        if (model != null && model != MinecraftClient.getInstance().getBakedModelManager().getMissingModel()) {
-            model.emitBlockQuads(blockView, state, pos, randomSupplier, context);
-        }
-    }
-
-    private String cleanPath(String path, String suffixToRemove) {
-        if (path.endsWith(suffixToRemove)) {
-            return path.substring(0, path.length() - suffixToRemove.length());
-        }
-        return path;
-    }
-
-    // --- Bit Helpers ---
-
-    private boolean isCornerBitSet(BlockState state, int index) {
-        if (index < 0 || index >= BlockSegmentUtils.CORNER_PROPERTIES.length) {
-            return false;
-        }
-        return state.get(BlockSegmentUtils.CORNER_PROPERTIES[index]);
-    }
-
-    private String getCornerBitMask(int index) {
-        char[] bits = "00000000".toCharArray();
-        bits[index] = '1';
-        return new String(bits);
-    }
-
-    private boolean isVerticalStepBitSet(BlockState state, int index) {
-        // 0=NW, 1=NE, 2=SW, 3=SE
-        return switch (index) {
-            case 0 -> state.get(VerticalStepBlock.NORTH_WEST);
-            case 1 -> state.get(VerticalStepBlock.NORTH_EAST);
-            case 2 -> state.get(VerticalStepBlock.SOUTH_WEST);
-            case 3 -> state.get(VerticalStepBlock.SOUTH_EAST);
-            default -> false;
-        };
-    }
-
-    private String getVerticalStepBitMask(int index) {
-        // Bitmask logic form Plugin: NW=8 (1000), NE=4 (0100), SW=2 (0010), SE=1 (0001)
-        // Index 0 (NW) -> 1000
-        return switch (index) {
-            case 0 -> "1000";
-            case 1 -> "0100";
-            case 2 -> "0010";
-            case 3 -> "0001";
-            default -> "0000";
-        };
-    }
-
-    private boolean isStepBitSet(BlockState state, int index) {
-        // 0=DF, 1=DB, 2=UF, 3=UB
-        return switch (index) {
-            case 0 -> state.get(StepBlock.DOWN_FRONT);
-            case 1 -> state.get(StepBlock.DOWN_BACK);
-            case 2 -> state.get(StepBlock.UP_FRONT);
-            case 3 -> state.get(StepBlock.UP_BACK);
-            default -> false;
-        };
-    }
-
-    private String getStepBitMask(int index) {
-        // Plugin: DF=8, DB=4, UF=2, UB=1
-        return switch (index) {
-            case 0 -> "1000";
-            case 1 -> "0100";
-            case 2 -> "0010";
-            case 3 -> "0001";
-            default -> "0000";
-        };
-    }
-
-    private boolean isVerticalSlabBitSet(BlockState state, int index) {
-        // 0=Negative, 1=Positive
-        if (state.getBlock() instanceof MixedVerticalSlabBlock) {
-            return index == 0 ? state.get(MixedVerticalSlabBlock.NEGATIVE) : state.get(MixedVerticalSlabBlock.POSITIVE);
-        }
-        // Vanilla/Base adaptation?
-        return false;
-    }
-
-    private boolean isSlabBitSet(BlockState state, int index) {
-        if (state.getBlock() instanceof MixedSlabBlock) {
-            return index == 0 ? state.get(MixedSlabBlock.BOTTOM) : state.get(MixedSlabBlock.TOP);
-        }
-        return false;
-    }
 }
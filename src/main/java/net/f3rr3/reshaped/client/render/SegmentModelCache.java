@@ -0,0 +1,200 @@
+package net.f3rr3.reshaped.client.render;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
+import net.f3rr3.reshaped.block.VerticalSlab.VerticalSlabBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.enums.SlabType;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Baked single-segment models per (material raw ID, segment kind, segment index), used by
+ * {@link CompositeBakedModel} while meshing.
+ * <p>
+ * Each material gets one row of {@link #SLOTS} models, allocated on first use; a slot is resolved
+ * once (building the model ID string) and then read as a plain array load. The table is dropped
+ * whenever the model manager's missing model changes, i.e. after every resource reload, and when
+ * registry sync renumbers block raw IDs ({@link #clear}). Lookups
+ * run on the chunk builder threads: racing resolvers store the same model, and a reader that
+ * misses a concurrent write just resolves the slot again.
+ */
+public final class SegmentModelCache {
+    public static final SegmentModelCache CLIENT = new SegmentModelCache(new ModelSource() {
+        @Override
+        public BakedModel missingModel() {
+            return MinecraftClient.getInstance().getBakedModelManager().getMissingModel();
+        }
+
+        @Override
+        public BakedModel getModel(Identifier modelId) {
+            return MinecraftClient.getInstance().getBakedModelManager().getModel(modelId);
+        }
+
+        @Override
+        public BakedModel getModel(BlockState state) {
+            return MinecraftClient.getInstance().getBlockRenderManager().getModel(state);
+        }
+    });
+
+    /**
+     * Segment layouts rendered by {@link CompositeBakedModel}; each owns {@code segments} slots of a row.
+     */
+    public enum Kind {
+        CORNER(8),
+        VERTICAL_STEP(4),
+        STEP_NORTH_SOUTH(4),
+        STEP_EAST_WEST(4),
+        SLAB(2),
+        VERTICAL_SLAB_X(2),
+        VERTICAL_SLAB_Z(2);
+
+        private final int segments;
+
+        Kind(int segments) {
+            this.segments = segments;
+        }
+
+        public int segments() {
+            return segments;
+        }
+    }
+
+    // First slot of each kind within a row, by ordinal.
+    private static final int[] OFFSETS = new int[Kind.values().length];
+    private static final int SLOTS;
+
+    static {
+        int offset = 0;
+        for (Kind kind : Kind.values()) {
+            OFFSETS[kind.ordinal()] = offset;
+            offset += kind.segments;
+        }
+        SLOTS = offset;
+    }
+
+    /**
+     * Where the cache takes baked models from; the client's model manager outside of benchmarks.
+     */
+    public interface ModelSource {
+        BakedModel missingModel();
+
+        BakedModel getModel(Identifier modelId);
+
+        BakedModel getModel(BlockState state);
+    }
+
+    private record Table(BakedModel missing, BakedModel[][] rows) {
+    }
+
+    private final ModelSource source;
+    private volatile Table table;
+
+    public SegmentModelCache(ModelSource source) {
+        this.source = source;
+    }
+
+    /**
+     * The model manager's current missing model; {@link #get} returns it for segments without a model.
+     */
+    public BakedModel missingModel() {
+        return currentTable().missing();
+    }
+
+    /**
+     * Baked model of segment {@code segment} of {@code kind} made of {@code material}.
+     */
+    public BakedModel get(Kind kind, Block material, int segment) {
+        Table current = currentTable();
+        int rawId = Registries.BLOCK.getRawId(material);
+        if (rawId < 0) {
+            return current.missing();
+        }
+        if (rawId >= current.rows().length) {
+            current = grow(rawId);
+        }
+
+        BakedModel[] row = current.rows()[rawId];
+        if (row == null) {
+            row = new BakedModel[SLOTS];
+            current.rows()[rawId] = row;
+        }
+        int slot = OFFSETS[kind.ordinal()] + segment;
+        BakedModel model = row[slot];
+        if (model == null) {
+            model = resolve(kind, material, segment);
+            row[slot] = model != null ? model : current.missing();
+            model = row[slot];
+        }
+        return model;
+    }
+
+    /**
+     * Drops every resolved row. Rows are indexed by raw ID, so they must not survive a block
+     * registry remap.
+     */
+    public synchronized void clear() {
+        table = null;
+    }
+
+    private Table currentTable() {
+        BakedModel missing = source.missingModel();
+        Table current = table;
+        if (current == null || current.missing() != missing) {
+            synchronized (this) {
+                current = table;
+                if (current == null || current.missing() != missing) {
+                    current = new Table(missing, new BakedModel[Registries.BLOCK.size()][]);
+                    table = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized Table grow(int rawId) {
+        // clear() may have run since the caller read the table.
+        Table latest = table != null ? table : currentTable();
+        if (rawId < latest.rows().length) {
+            return latest;
+        }
+        int size = Math.max(rawId + 1, Registries.BLOCK.size());
+        Table grown = new Table(latest.missing(), Arrays.copyOf(latest.rows(), size));
+        table = grown;
+        return grown;
+    }
+
+    private BakedModel resolve(Kind kind, Block material, int segment) {
+        Identifier materialId = Registries.BLOCK.getId(material);
+        return switch (kind) {
+            case CORNER -> source.getModel(segmentModelId(materialId, "_corner", "_corner_", segment, 8));
+            case VERTICAL_STEP -> source.getModel(segmentModelId(materialId, "_vertical_step", "_vertical_step_", segment, 4));
+            case STEP_NORTH_SOUTH -> source.getModel(segmentModelId(materialId, "_step", "_step_nortsouth_", segment, 4));
+            case STEP_EAST_WEST -> source.getModel(segmentModelId(materialId, "_step", "_step_eastwest_", segment, 4));
+            case SLAB -> material instanceof SlabBlock
+                    ? source.getModel(material.getDefaultState().with(SlabBlock.TYPE, segment == 0 ? SlabType.BOTTOM : SlabType.TOP))
+                    : null;
+            case VERTICAL_SLAB_X -> material instanceof VerticalSlabBlock
+                    ? source.getModel(material.getDefaultState().with(VerticalSlabBlock.FACING, segment == 0 ? Direction.WEST : Direction.EAST))
+                    : null;
+            case VERTICAL_SLAB_Z -> material instanceof VerticalSlabBlock
+                    ? source.getModel(material.getDefaultState().with(VerticalSlabBlock.FACING, segment == 0 ? Direction.NORTH : Direction.SOUTH))
+                    : null;
+        };
+    }
+
+    private static Identifier segmentModelId(Identifier materialId, String suffix, String infix, int segment, int segments) {
+        String path = materialId.getPath();
+        if (path.endsWith(suffix)) {
+            path = path.substring(0, path.length() - suffix.length());
+        }
+        return new Identifier(Reshaped.MOD_ID, "block/" + path + infix + SegmentOccupancy.maskString(1 << segment, segments));
+    }
+}
@@ -5,6 +5,7 @@ import net.f3rr3.reshaped.block.Corner.CornerBlock;
 import net.f3rr3.reshaped.block.Step.StepBlock;
 import net.f3rr3.reshaped.block.Template.MixedBlockEntity;
 import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
+import net.f3rr3.reshaped.interaction.SegmentSyncService;
 import net.f3rr3.reshaped.network.NetworkHandler;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.minecraft.block.Block;
@@ -131,6 +132,25 @@ public class MatrixCommand {
                             NetworkHandler.requestClientBlockData(player, targetPos);
                             context.getSource().sendFeedback(() -> Text.literal("Requested client data..."), false);
                             return 1;
-                        }))));
+                        }))
+                .then(CommandManager.literal("syncstats")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .executes(context -> {
+                            String stats = SegmentSyncService.describeStats();
+                            context.getSource().sendFeedback(() -> Text.literal("Segment sync " + stats), false);
+                            return 1;
+                        })
+                        .then(CommandManager.literal("on")
+                                .executes(context -> {
+                                    SegmentSyncService.setMeasuring(true);
+                                    context.getSource().sendFeedback(() -> Text.literal("Segment sync: measuring exact packet sizes (counters reset)"), false);
+                                    return 1;
+                                }))
+                        .then(CommandManager.literal("off")
+                                .executes(context -> {
+                                    SegmentSyncService.setMeasuring(false);
+                                    context.getSource().sendFeedback(() -> Text.literal("Segment sync: back to estimated packet sizes (counters reset)"), false);
+                                    return 1;
+                                })))));
     }
 }
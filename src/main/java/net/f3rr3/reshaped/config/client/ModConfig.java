@@ -20,6 +20,13 @@ public class ModConfig implements ConfigData {
 
     public boolean hideAlternateBlocks = true;
 
+    // Register only the 8 single-segment corner models per material instead of all 256 masks.
+    // Read on every resource reload.
+    public boolean lazyCornerModels = true;
+
+    // Generate runtime models on a worker pool before the model loader resolves them.
+    public boolean parallelModelGeneration = false;
+
     public static class RadialMenu {
         @ConfigEntry.BoundedDiscrete(min = 1, max = 16)
         public float ImageResolution = 4.0f;
@@ -17,6 +17,12 @@ public final class ServerConfig {
 
     public boolean allowInventoryBlockConversion = true;
     public boolean enableMatrixCommand = true;
+    public boolean incrementalMatrixRebuild = true;
+    public boolean asyncMatrixRebuild = false;
+    public boolean parallelBaseClassification = false;
+    public boolean parallelRecipeAnalysis = false;
+    public boolean persistentMatrixCache = true;
+    public boolean targetedSegmentSync = true;
 
     private ServerConfig() {
     }
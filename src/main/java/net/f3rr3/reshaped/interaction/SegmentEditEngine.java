@@ -0,0 +1,278 @@
+package net.f3rr3.reshaped.interaction;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.block.BlockSegmentUtils;
+import net.f3rr3.reshaped.block.Corner.CornerBlock;
+import net.f3rr3.reshaped.block.Corner.CornerBlockEntity;
+import net.f3rr3.reshaped.block.SegmentOccupancy;
+import net.f3rr3.reshaped.block.Slab.MixedSlabBlock;
+import net.f3rr3.reshaped.block.Slab.SlabBlockEntity;
+import net.f3rr3.reshaped.block.Step.StepBlock;
+import net.f3rr3.reshaped.block.Step.StepBlockEntity;
+import net.f3rr3.reshaped.block.Template.MixedBlockEntity;
+import net.f3rr3.reshaped.block.VerticalSlab.MixedVerticalSlabBlock;
+import net.f3rr3.reshaped.block.VerticalSlab.VerticalSlabBlock;
+import net.f3rr3.reshaped.block.VerticalSlab.VerticalSlabBlockEntity;
+import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
+import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlockEntity;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.enums.SlabType;
+import net.minecraft.registry.Registries;
+import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.state.property.Properties;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.ModifiableWorld;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Segment placement and removal for every reshaped shape, driven by one {@link Shape} descriptor
+ * per shape instead of a code branch per block type.
+ * <p>
+ * An edit is planned as a pure function of the current state and materials ({@link #planPlace},
+ * {@link #planBreak}) and then applied with exactly one {@code setBlockState} and at most one
+ * block-entity update ({@link #apply}).
+ */
+public final class SegmentEditEngine {
+    private static final List<Shape> SHAPES = List.of(
+            new Shape(BlockSegmentUtils.CORNER_PROPERTIES, Reshaped.MIXED_CORNER, CornerBlock.class, CornerBlockEntity.class,
+                    state -> segmentsToMixed(state, Reshaped.MIXED_CORNER.getDefaultState(), BlockSegmentUtils.CORNER_PROPERTIES),
+                    (mixed, block) -> segmentsToMixed(mixed, block.getDefaultState(), BlockSegmentUtils.CORNER_PROPERTIES)),
+            new Shape(BlockSegmentUtils.STEP_PROPERTIES, Reshaped.MIXED_STEP, StepBlock.class, StepBlockEntity.class,
+                    state -> segmentsToMixed(state, Reshaped.MIXED_STEP.getDefaultState(), BlockSegmentUtils.STEP_PROPERTIES)
+                            .with(StepBlock.AXIS, state.get(StepBlock.AXIS)),
+                    (mixed, block) -> segmentsToMixed(mixed, block.getDefaultState(), BlockSegmentUtils.STEP_PROPERTIES)
+                            .with(StepBlock.AXIS, mixed.get(StepBlock.AXIS))),
+            new Shape(BlockSegmentUtils.VERTICAL_STEP_PROPERTIES, Reshaped.MIXED_VERTICAL_STEP, VerticalStepBlock.class, VerticalStepBlockEntity.class,
+                    state -> segmentsToMixed(state, Reshaped.MIXED_VERTICAL_STEP.getDefaultState(), BlockSegmentUtils.VERTICAL_STEP_PROPERTIES),
+                    (mixed, block) -> segmentsToMixed(mixed, block.getDefaultState(), BlockSegmentUtils.VERTICAL_STEP_PROPERTIES)),
+            new Shape(SegmentOccupancy.SLAB_PROPERTIES, Reshaped.MIXED_SLAB, SlabBlock.class, SlabBlockEntity.class,
+                    SegmentEditEngine::slabToMixed, SegmentEditEngine::mixedToSlab),
+            new Shape(SegmentOccupancy.VERTICAL_SLAB_PROPERTIES, Reshaped.MIXED_VERTICAL_SLAB, VerticalSlabBlock.class, VerticalSlabBlockEntity.class,
+                    SegmentEditEngine::verticalSlabToMixed, SegmentEditEngine::mixedToVerticalSlab)
+    );
+
+    private SegmentEditEngine() {
+    }
+
+    /**
+     * Describes one segmented shape.
+     *
+     * @param properties      segment properties of the mixed block, in material-slot order
+     * @param mixedBlock      the block that stores per-segment materials
+     * @param unmixedType     block class of the single-material variants
+     * @param blockEntityType block entity class of {@code mixedBlock}
+     * @param toMixed         equivalent mixed-block state of an unmixed state (segments, axis, waterlogging)
+     * @param toUnmixed       state of the given unmixed block with the segments of a mixed state
+     */
+    public record Shape(BooleanProperty[] properties,
+                        Block mixedBlock,
+                        Class<? extends Block> unmixedType,
+                        Class<? extends MixedBlockEntity> blockEntityType,
+                        UnaryOperator<BlockState> toMixed,
+                        BiFunction<BlockState, Block, BlockState> toUnmixed) {
+
+        public int indexOf(BooleanProperty property) {
+            for (int i = 0; i < properties.length; i++) {
+                if (properties[i] == property) return i;
+            }
+            return -1;
+        }
+
+        private BlockState asMixed(BlockState state) {
+            return state.getBlock() == mixedBlock ? state : toMixed.apply(state);
+        }
+    }
+
+    /**
+     * Result of a planned edit.
+     *
+     * @param state            the block state to set
+     * @param materials        material slots for the mixed block entity, or null if {@code state} is not mixed
+     * @param removedMaterial  material of the removed segment for a break, otherwise null
+     */
+    public record Edit(BlockState state, @Nullable Identifier[] materials, @Nullable Identifier removedMaterial) {
+    }
+
+    /**
+     * The shape {@code block} belongs to, as either its mixed or one of its unmixed blocks, or null.
+     */
+    @Nullable
+    public static Shape shapeOf(Block block) {
+        for (Shape shape : SHAPES) {
+            if (block == shape.mixedBlock() || shape.unmixedType().isInstance(block)) {
+                return shape;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Current material per segment slot: the block entity's slots for a mixed block, otherwise
+     * the block's own ID for every occupied segment.
+     */
+    public static Identifier[] materialsOf(Shape shape, BlockState state, @Nullable BlockEntity blockEntity) {
+        Identifier[] materials = new Identifier[shape.properties().length];
+        if (state.getBlock() == shape.mixedBlock()) {
+            if (shape.blockEntityType().isInstance(blockEntity)) {
+                MixedBlockEntity mixed = (MixedBlockEntity) blockEntity;
+                for (int i = 0; i < materials.length; i++) {
+                    materials[i] = mixed.getMaterial(i);
+                }
+            }
+            return materials;
+        }
+
+        Identifier material = Registries.BLOCK.getId(state.getBlock());
+        for (int mask = SegmentOccupancy.mask(shape.asMixed(state)); mask != 0; mask &= mask - 1) {
+            materials[Integer.numberOfTrailingZeros(mask)] = material;
+        }
+        return materials;
+    }
+
+    /**
+     * Adds segment {@code property} made of {@code material}. The result is always the mixed block.
+     */
+    public static Edit planPlace(Shape shape, BlockState state, Identifier[] materials, BooleanProperty property, Identifier material) {
+        Identifier[] updated = materials.clone();
+        updated[shape.indexOf(property)] = material;
+        return new Edit(shape.asMixed(state).with(property, true), updated, null);
+    }
+
+    /**
+     * Removes segment {@code property}. An unmixed block just loses the segment; a mixed block whose
+     * remaining segments share one material collapses back to that material's unmixed block.
+     */
+    public static Edit planBreak(Shape shape, BlockState state, Identifier[] materials, BooleanProperty property) {
+        int index = shape.indexOf(property);
+        Identifier removed = materials[index];
+        if (state.getBlock() != shape.mixedBlock()) {
+            return new Edit(state.with(property, false), null, removed);
+        }
+
+        BlockState remaining = state.with(property, false);
+        Identifier[] updated = materials.clone();
+        updated[index] = null;
+
+        Identifier common = null;
+        boolean mixed = false;
+        for (int mask = SegmentOccupancy.mask(remaining); mask != 0; mask &= mask - 1) {
+            Identifier material = updated[Integer.numberOfTrailingZeros(mask)];
+            if (common == null) {
+                common = material;
+            } else if (material != null && !material.equals(common)) {
+                mixed = true;
+            }
+        }
+        if (!mixed && common != null) {
+            Block unmixed = Registries.BLOCK.get(common);
+            if (shape.unmixedType().isInstance(unmixed)) {
+                return new Edit(shape.toUnmixed().apply(remaining, unmixed), null, removed);
+            }
+        }
+        return new Edit(remaining, updated, removed);
+    }
+
+    /**
+     * Applies {@code edit} with one block state change and, for a mixed result, one batched
+     * material write. Takes any modifiable block view rather than a full {@code World}, so the
+     * edit benchmark can run it against a stand-in.
+     */
+    public static <W extends ModifiableWorld & BlockView> void apply(W world, BlockPos pos, Shape shape, Edit edit) {
+        world.setBlockState(pos, edit.state(), 3);
+        if (edit.materials() != null && world.getBlockEntity(pos) instanceof MixedBlockEntity blockEntity
+                && shape.blockEntityType().isInstance(blockEntity)) {
+            blockEntity.setMaterials((1 << edit.materials().length) - 1, edit.materials());
+        }
+    }
+
+    /**
+     * Plans and applies the placement of segment {@code property} made of {@code material}.
+     */
+    public static <W extends ModifiableWorld & BlockView> void place(W world, BlockPos pos, BlockState state, BooleanProperty property, Block material) {
+        Shape shape = shapeOf(state.getBlock());
+        if (shape == null) return;
+        Identifier[] materials = materialsOf(shape, state, world.getBlockEntity(pos));
+        apply(world, pos, shape, planPlace(shape, state, materials, property, Registries.BLOCK.getId(material)));
+    }
+
+    /**
+     * Plans and applies the removal of segment {@code property}, returning the removed segment's material.
+     */
+    @Nullable
+    public static <W extends ModifiableWorld & BlockView> Identifier breakSegment(W world, BlockPos pos, BlockState state, BooleanProperty property) {
+        Shape shape = shapeOf(state.getBlock());
+        if (shape == null) return null;
+        Identifier[] materials = materialsOf(shape, state, world.getBlockEntity(pos));
+        Edit edit = planBreak(shape, state, materials, property);
+        apply(world, pos, shape, edit);
+        return edit.removedMaterial();
+    }
+
+    /**
+     * Material of segment {@code property} without editing anything.
+     */
+    @Nullable
+    public static Identifier materialAt(BlockView world, BlockPos pos, BlockState state, BooleanProperty property) {
+        Shape shape = shapeOf(state.getBlock());
+        if (shape == null) return null;
+        return materialsOf(shape, state, world.getBlockEntity(pos))[shape.indexOf(property)];
+    }
+
+    private static BlockState segmentsToMixed(BlockState source, BlockState target, BooleanProperty[] properties) {
+        for (int mask = SegmentOccupancy.mask(source); mask != 0; mask &= mask - 1) {
+            target = target.with(properties[Integer.numberOfTrailingZeros(mask)], true);
+        }
+        return target.with(Properties.WATERLOGGED, source.get(Properties.WATERLOGGED));
+    }
+
+    private static BlockState slabToMixed(BlockState slab) {
+        SlabType type = slab.get(Properties.SLAB_TYPE);
+        return Reshaped.MIXED_SLAB.getDefaultState()
+                .with(MixedSlabBlock.BOTTOM, type != SlabType.TOP)
+                .with(MixedSlabBlock.TOP, type != SlabType.BOTTOM)
+                .with(Properties.WATERLOGGED, slab.get(Properties.WATERLOGGED));
+    }
+
+    private static BlockState mixedToSlab(BlockState mixed, Block block) {
+        boolean bottom = mixed.get(MixedSlabBlock.BOTTOM);
+        boolean top = mixed.get(MixedSlabBlock.TOP);
+        SlabType type = bottom && top ? SlabType.DOUBLE : top ? SlabType.TOP : SlabType.BOTTOM;
+        return block.getDefaultState()
+                .with(Properties.SLAB_TYPE, type)
+                .with(Properties.WATERLOGGED, mixed.get(Properties.WATERLOGGED));
+    }
+
+    private static BlockState verticalSlabToMixed(BlockState slab) {
+        Direction facing = slab.get(VerticalSlabBlock.FACING);
+        Direction.Axis axis = facing.getAxis();
+        boolean full = slab.get(VerticalSlabBlock.TYPE) == SlabType.DOUBLE;
+        BlockState mixed = Reshaped.MIXED_VERTICAL_SLAB.getDefaultState()
+                .with(MixedVerticalSlabBlock.AXIS, axis)
+                .with(MixedVerticalSlabBlock.getPropertyForDirection(facing, axis), true)
+                .with(Properties.WATERLOGGED, slab.get(Properties.WATERLOGGED));
+        return full ? mixed.with(MixedVerticalSlabBlock.NEGATIVE, true).with(MixedVerticalSlabBlock.POSITIVE, true) : mixed;
+    }
+
+    private static BlockState mixedToVerticalSlab(BlockState mixed, Block block) {
+        Direction.Axis axis = mixed.get(MixedVerticalSlabBlock.AXIS);
+        boolean negative = mixed.get(MixedVerticalSlabBlock.NEGATIVE);
+        boolean positive = mixed.get(MixedVerticalSlabBlock.POSITIVE);
+        Direction facing = axis == Direction.Axis.Z
+                ? (negative ? Direction.NORTH : Direction.SOUTH)
+                : (negative ? Direction.WEST : Direction.EAST);
+        return block.getDefaultState()
+                .with(VerticalSlabBlock.FACING, facing)
+                .with(VerticalSlabBlock.TYPE, negative && positive ? SlabType.DOUBLE : SlabType.BOTTOM)
+                .with(Properties.WATERLOGGED, mixed.get(Properties.WATERLOGGED));
+    }
+}
@@ -0,0 +1,266 @@
+package net.f3rr3.reshaped.interaction;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.config.server.ServerConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.BlockUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resyncs segment edits to watching clients after the server cancels or rewrites a block break.
+ * <p>
+ * Positions queued during a tick are grouped per chunk section and flushed at the end of the
+ * world tick: a block update (or one delta update for several positions in the same section)
+ * plus the block-entity update of every position. The full chunk packet is only sent when the
+ * targeted sync is disabled in the server config or a section collects more than
+ * {@link #MAX_TARGETED_POSITIONS} positions in one tick.
+ * <p>
+ * Traffic is only measured exactly (by serializing every packet, plus a sampled chunk packet
+ * for the bytes-saved estimate) while {@code /reshaped syncstats on} is active; otherwise the
+ * counters use fixed per-packet estimates and nothing is serialized.
+ * <p>
+ * All state is touched on the server thread only.
+ */
+public final class SegmentSyncService {
+    private static final int MAX_TARGETED_POSITIONS = 64;
+    // Every n-th targeted flush also measures the chunk packet it replaced, for the bytes-saved estimate.
+    private static final int FULL_SIZE_SAMPLE_INTERVAL = 64;
+    // Rough wire sizes used when not measuring. A mixed block entity update carries its sync
+    // palette (one raw ID per distinct material) and one byte per segment.
+    private static final int ESTIMATED_BLOCK_UPDATE_BYTES = 12;
+    private static final int ESTIMATED_DELTA_UPDATE_BYTES = 10;
+    private static final int ESTIMATED_DELTA_ENTRY_BYTES = 5;
+    private static final int ESTIMATED_BLOCK_ENTITY_BYTES = 64;
+
+    private static final Map<RegistryKey<World>, Long2ObjectMap<ShortSet>> PENDING = new HashMap<>();
+
+    private static long targetedFlushes;
+    private static long targetedBytes;
+    private static long targetedSends;
+    private static long fullResends;
+    private static long fullBytes;
+    private static long sampledFullBytes;
+    private static long sampledFullCount;
+    private static boolean measuring;
+
+    private SegmentSyncService() {
+    }
+
+    public static boolean isMeasuring() {
+        return measuring;
+    }
+
+    /**
+     * Switches between exact (serializing) and estimated traffic counting. Counters are reset
+     * so exact and estimated numbers are never summed together.
+     */
+    public static void setMeasuring(boolean enabled) {
+        if (measuring == enabled) {
+            return;
+        }
+        measuring = enabled;
+        targetedFlushes = 0;
+        targetedBytes = 0;
+        targetedSends = 0;
+        fullResends = 0;
+        fullBytes = 0;
+        sampledFullBytes = 0;
+        sampledFullCount = 0;
+    }
+
+    public static void register() {
+        ServerTickEvents.END_WORLD_TICK.register(SegmentSyncService::flush);
+        // Positions queued in one integrated-server session must not be flushed into the next.
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> PENDING.clear());
+    }
+
+    /**
+     * Schedules {@code pos} to be resent to the players watching it at the end of this tick.
+     */
+    public static void queue(World world, BlockPos pos) {
+        if (!(world instanceof ServerWorld serverWorld)) {
+            return;
+        }
+        if (!ServerConfig.get().targetedSegmentSync) {
+            WorldChunk chunk = serverWorld.getChunkManager().getWorldChunk(pos.getX() >> 4, pos.getZ() >> 4);
+            if (chunk != null) {
+                sendFullChunk(serverWorld, chunk);
+            }
+            return;
+        }
+
+        PENDING.computeIfAbsent(serverWorld.getRegistryKey(), key -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(ChunkSectionPos.toLong(pos), section -> new ShortOpenHashSet())
+                .add(ChunkSectionPos.packLocal(pos));
+    }
+
+    private static void flush(ServerWorld world) {
+        Long2ObjectMap<ShortSet> sections = PENDING.remove(world.getRegistryKey());
+        if (sections == null) {
+            return;
+        }
+
+        for (Long2ObjectMap.Entry<ShortSet> entry : sections.long2ObjectEntrySet()) {
+            ChunkSectionPos sectionPos = ChunkSectionPos.from(entry.getLongKey());
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(sectionPos.getSectionX(), sectionPos.getSectionZ());
+            if (chunk == null) {
+                continue;
+            }
+
+            ShortSet positions = entry.getValue();
+            if (positions.size() > MAX_TARGETED_POSITIONS) {
+                sendFullChunk(world, chunk);
+            } else {
+                sendTargeted(world, chunk, sectionPos, positions);
+            }
+        }
+    }
+
+    private static void sendTargeted(ServerWorld world, WorldChunk chunk, ChunkSectionPos sectionPos, ShortSet positions) {
+        List<ServerPlayerEntity> watchers = watchers(world, chunk.getPos());
+        if (watchers.isEmpty()) {
+            return;
+        }
+
+        ChunkSection section = chunk.getSection(world.sectionCoordToIndex(sectionPos.getSectionY()));
+        List<Packet<?>> packets = buildTargetedPackets(world, section, sectionPos, positions);
+        for (ServerPlayerEntity player : watchers) {
+            for (Packet<?> packet : packets) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+
+        int bytes = 0;
+        for (Packet<?> packet : packets) {
+            bytes += measuring ? sizeOf(packet) : estimateSize(packet, positions.size());
+        }
+        targetedFlushes++;
+        targetedBytes += (long) bytes * watchers.size();
+        targetedSends += watchers.size();
+        if (measuring && targetedFlushes % FULL_SIZE_SAMPLE_INTERVAL == 1) {
+            sampledFullBytes += sizeOf(new ChunkDataS2CPacket(chunk, world.getLightingProvider(), null, null));
+            sampledFullCount++;
+        }
+    }
+
+    /**
+     * The packets a targeted resync of {@code positions} sends to each watcher: one block or
+     * section delta update, then the block-entity update of every position that has one.
+     * {@code section} is only read for a delta update. Public for the edit benchmark.
+     */
+    public static List<Packet<?>> buildTargetedPackets(BlockView world, ChunkSection section, ChunkSectionPos sectionPos, ShortSet positions) {
+        List<Packet<?>> packets = new ArrayList<>(positions.size() + 1);
+        if (positions.size() == 1) {
+            packets.add(new BlockUpdateS2CPacket(world, toBlockPos(sectionPos, positions.iterator().nextShort())));
+        } else {
+            packets.add(new ChunkDeltaUpdateS2CPacket(sectionPos, positions, section));
+        }
+        for (ShortIterator it = positions.iterator(); it.hasNext(); ) {
+            BlockEntity blockEntity = world.getBlockEntity(toBlockPos(sectionPos, it.nextShort()));
+            Packet<?> packet = blockEntity != null ? blockEntity.toUpdatePacket() : null;
+            if (packet != null) {
+                packets.add(packet);
+            }
+        }
+        return packets;
+    }
+
+    private static void sendFullChunk(ServerWorld world, WorldChunk chunk) {
+        List<ServerPlayerEntity> watchers = watchers(world, chunk.getPos());
+        if (watchers.isEmpty()) {
+            return;
+        }
+
+        ChunkDataS2CPacket packet = new ChunkDataS2CPacket(chunk, world.getLightingProvider(), null, null);
+        watchers.forEach(player -> player.networkHandler.sendPacket(packet));
+
+        fullResends++;
+        if (measuring) {
+            fullBytes += (long) sizeOf(packet) * watchers.size();
+        }
+    }
+
+    private static List<ServerPlayerEntity> watchers(ServerWorld world, ChunkPos chunkPos) {
+        return world.getChunkManager().threadedAnvilChunkStorage.getPlayersWatchingChunk(chunkPos, false);
+    }
+
+    private static BlockPos toBlockPos(ChunkSectionPos sectionPos, short packedLocal) {
+        return new BlockPos(sectionPos.unpackBlockX(packedLocal), sectionPos.unpackBlockY(packedLocal), sectionPos.unpackBlockZ(packedLocal));
+    }
+
+    /**
+     * Approximate wire size without serializing anything.
+     */
+    private static int estimateSize(Packet<?> packet, int positions) {
+        if (packet instanceof BlockUpdateS2CPacket) {
+            return ESTIMATED_BLOCK_UPDATE_BYTES;
+        }
+        if (packet instanceof ChunkDeltaUpdateS2CPacket) {
+            return ESTIMATED_DELTA_UPDATE_BYTES + ESTIMATED_DELTA_ENTRY_BYTES * positions;
+        }
+        if (packet instanceof BlockEntityUpdateS2CPacket) {
+            return ESTIMATED_BLOCK_ENTITY_BYTES;
+        }
+        return ESTIMATED_BLOCK_UPDATE_BYTES;
+    }
+
+    /**
+     * Encoded size of {@code packet} without framing; each watcher's connection encodes it once.
+     */
+    public static int sizeOf(Packet<?> packet) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        try {
+            packet.write(buf);
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * One-line summary of the sync counters, for {@code /reshaped syncstats}. Bytes are summed
+     * over all receiving players. Full chunk bytes and the saving (estimated from sampled chunk
+     * packet sizes) are only known while measuring.
+     */
+    public static String describeStats() {
+        String summary;
+        if (measuring) {
+            long averageFull = sampledFullCount == 0 ? 0 : sampledFullBytes / sampledFullCount;
+            long saved = Math.max(0, averageFull * targetedSends - targetedBytes);
+            summary = String.format("targeted: %d flushes, %d bytes; full chunk: %d resends, %d bytes; est. saved: %d bytes (avg chunk packet %d bytes)",
+                    targetedFlushes, targetedBytes, fullResends, fullBytes, saved, averageFull);
+        } else {
+            summary = String.format("targeted: %d flushes, ~%d bytes (estimated); full chunk: %d resends; use '/reshaped syncstats on' for exact sizes",
+                    targetedFlushes, targetedBytes, fullResends);
+        }
+        Reshaped.LOGGER.info("[SegmentSyncService] {}", summary);
+        return summary;
+    }
+}
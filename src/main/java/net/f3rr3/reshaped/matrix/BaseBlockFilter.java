@@ -1,9 +1,12 @@
 package net.f3rr3.reshaped.matrix;
 
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.config.server.ServerConfig;
 import net.minecraft.block.*;
 import net.minecraft.item.Items;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.registry.tag.TagKey;
 import net.minecraft.state.property.Properties;
 import net.minecraft.util.Hand;
@@ -14,18 +17,46 @@ import net.minecraft.world.EmptyBlockView;
 import net.minecraft.world.World;
 
 import java.lang.reflect.Method;
-import java.util.Comparator;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class BaseBlockFilter {
 	public static final TagKey<Block> ALLOW_TAG = TagKey.of(RegistryKeys.BLOCK, new Identifier("reshaped", "base_block_allow"));
 	public static final TagKey<Block> DENY_TAG = TagKey.of(RegistryKeys.BLOCK, new Identifier("reshaped", "base_block_deny"));
 
+	private static final AtomicLong OVERRIDE_CACHE_LOOKUPS = new AtomicLong();
+	private static final AtomicLong OVERRIDE_CACHE_MISSES = new AtomicLong();
+	private static final ClassValue<Boolean> FUNCTIONAL_OVERRIDE_CACHE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			OVERRIDE_CACHE_MISSES.incrementAndGet();
+			return computeFunctionalOverride(type);
+		}
+	};
+
 	private BaseBlockFilter() {
 	}
 
 	public static Set<Block> collectBaseCandidates() {
+		return collectBaseCandidates(ServerConfig.get().parallelBaseClassification);
+	}
+
+	/**
+	 * Collects all base candidates, sorted by block ID.
+	 *
+	 * @param parallel classify blocks on a fork-join pool instead of the calling thread.
+	 *                 The result is identical either way; if any block fails to classify off-thread
+	 *                 the pass is repeated sequentially.
+	 */
+	public static Set<Block> collectBaseCandidates(boolean parallel) {
+		if (parallel) {
+			try {
+				return collectBaseCandidatesParallel();
+			} catch (RuntimeException e) {
+				Reshaped.LOGGER.warn("BaseBlockFilter: parallel classification failed, retrying sequentially", e);
+			}
+		}
+
 		Set<Block> sorted = new LinkedHashSet<>();
 		Registries.BLOCK.stream()
 				.filter(BaseBlockFilter::isBaseCandidate)
@@ -34,6 +65,45 @@ public final class BaseBlockFilter {
 		return sorted;
 	}
 
+	private static Set<Block> collectBaseCandidatesParallel() {
+		List<Block> blocks = new ArrayList<>(Registries.BLOCK.size());
+		Registries.BLOCK.forEach(blocks::add);
+
+		// Classification only reads block/state data, so blocks can be checked independently.
+		List<Block> accepted = MatrixWorkerPool.get().submit(() -> blocks.parallelStream()
+				.filter(BaseBlockFilter::isBaseCandidate)
+				.toList()).join();
+
+		// Merge back into the same deterministic ID order as the sequential path.
+		List<Map.Entry<String, Block>> keyed = new ArrayList<>(accepted.size());
+		for (Block block : accepted) {
+			keyed.add(Map.entry(Registries.BLOCK.getId(block).toString(), block));
+		}
+		keyed.sort(Map.Entry.comparingByKey());
+
+		Set<Block> sorted = new LinkedHashSet<>();
+		for (Map.Entry<String, Block> entry : keyed) {
+			sorted.add(entry.getValue());
+		}
+		return sorted;
+	}
+
+	/**
+	 * Captures the current contents of the allow/deny override tags. Tags are reloaded with
+	 * datapacks, so a change here means the base candidate set may have changed too.
+	 */
+	public static FilterTags captureFilterTags() {
+		return new FilterTags(tagContents(ALLOW_TAG), tagContents(DENY_TAG));
+	}
+
+	private static Set<Block> tagContents(TagKey<Block> tag) {
+		Set<Block> contents = new HashSet<>();
+		for (RegistryEntry<Block> entry : Registries.BLOCK.iterateEntries(tag)) {
+			contents.add(entry.value());
+		}
+		return contents;
+	}
+
 	public static boolean isBaseCandidate(Block block) {
 		if (block == null || block == Blocks.AIR) return false;
 		Identifier id = Registries.BLOCK.getId(block);
@@ -116,9 +186,29 @@ public final class BaseBlockFilter {
 		return true;
 	}
 
+	/**
+	 * Number of {@link #hasFunctionalOverride} lookups answered from the per-class cache.
+	 */
+	public static long getOverrideCacheHits() {
+		return OVERRIDE_CACHE_LOOKUPS.get() - OVERRIDE_CACHE_MISSES.get();
+	}
+
+	/**
+	 * Number of {@link #hasFunctionalOverride} lookups that had to reflect on the block class.
+	 */
+	public static long getOverrideCacheMisses() {
+		return OVERRIDE_CACHE_MISSES.get();
+	}
+
 	private static boolean hasFunctionalOverride(Block block) {
+		// The verdict depends only on the class, and many blocks share one, so it is computed
+		// once per class and reused across bootstrap, rebuild and bootstrapAddedBlock.
+		OVERRIDE_CACHE_LOOKUPS.incrementAndGet();
+		return FUNCTIONAL_OVERRIDE_CACHE.get(block.getClass());
+	}
+
+	private static boolean computeFunctionalOverride(Class<?> clazz) {
 		try {
-			Class<?> clazz = block.getClass();
 
 			// Check for UI-opening method
 			if (isOverridden(clazz, "createScreenHandlerFactory", BlockState.class, World.class, BlockPos.class))
@@ -200,6 +290,9 @@ public final class BaseBlockFilter {
 				|| className.contains("copycat");
 	}
 
+	public record FilterTags(Set<Block> allow, Set<Block> deny) {
+	}
+
 	private static boolean isFunctionalOrReactiveBlock(Block block) {
 		if (block instanceof PistonBlock
 				|| block instanceof RespawnAnchorBlock
@@ -12,17 +12,23 @@ public class BlockMatrix {
     private final Map<Block, String> reasons = new HashMap<>();
     private final Map<Block, Block> mutableVariantToBase = new HashMap<>();
 
+    // ── Registration session: while open, refresh requests are staged and a single
+    //    snapshot is built when the session ends (see beginRegistrationSession()) ──
+    private volatile boolean registrationSession = false;
+    private int stagedRefreshes = 0;
+
     // ── Immutable read-side snapshot, swapped atomically by refresh() ──
     private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile int snapshotVersion = 0;
 
     /**
      * Rebuilds the read-side snapshot from the current mutable state.
      * Called at the end of bootstrap / rebuild while the REBUILDING lock is held.
      */
-    public void refresh() {
+    public synchronized void refresh() {
         if (matrix.isEmpty()) {
             Reshaped.LOGGER.info("[BlockMatrix] refresh(): matrix is empty, setting EMPTY snapshot");
-            snapshot = Snapshot.EMPTY;
+            publish(Snapshot.EMPTY);
             return;
         }
 
@@ -40,55 +46,198 @@ public class BlockMatrix {
         Map<Block, String> newReasons = new HashMap<>(reasons);
 
         for (Map.Entry<Block, List<Block>> entry : entries) {
-            Block base = entry.getKey();
-            List<Block> variants = new ArrayList<>(entry.getValue());
-            variants.sort(Comparator.comparing(b -> Registries.BLOCK.getId(b).toString()));
+            putColumn(entry.getKey(), entry.getValue(), newMatrix, newVariantToBase, newAllBlocks, newColumnByBlock);
+        }
 
-            newMatrix.put(base, Collections.unmodifiableList(variants));
-            newAllBlocks.add(base);
+        // NOTE: We do NOT update the mutable `matrix` here. It must remain mutable
+        // so that subsequent addVariant() calls during bootstrap/rebuild can still
+        // append to the lists. Only the snapshot needs sorted/immutable copies.
+
+        // Atomically swap the snapshot — readers immediately see the new state.
+        publish(Snapshot.of(newMatrix, newAllBlocks, newVariantToBase, newColumnByBlock, newReasons));
+        Reshaped.LOGGER.info("[BlockMatrix] refresh(): snapshot swapped successfully. New allBlocks size: {}", newAllBlocks.size());
+    }
 
-            for (Block variant : variants) {
-                newVariantToBase.put(variant, base);
-                mutableVariantToBase.put(variant, base);
-                newAllBlocks.add(variant);
+    /**
+     * Publishes a new snapshot in which only the columns of {@code changedBases} are rebuilt;
+     * every other column is carried over from the current snapshot as-is.
+     * Falls back to a full {@link #refresh()} when a changed base is not yet part of the
+     * snapshot (new columns need to be placed in sorted order).
+     */
+    public synchronized void refreshColumns(Collection<Block> changedBases) {
+        Snapshot previous = snapshot;
+        for (Block base : changedBases) {
+            if (!previous.matrix().containsKey(base) || !matrix.containsKey(base)) {
+                Reshaped.LOGGER.info("[BlockMatrix] refreshColumns(): {} is not an existing column, doing full refresh",
+                        Registries.BLOCK.getId(base));
+                refresh();
+                return;
             }
+        }
 
-            List<Block> column = new ArrayList<>(variants.size() + 1);
-            column.add(base);
-            column.addAll(variants);
-            column.sort(
-                    Comparator
-                            .comparing((Block b) -> b.getClass().getSimpleName())
-                            .thenComparing(b -> Registries.BLOCK.getId(b).toString())
-            );
-            List<Block> immutableColumn = Collections.unmodifiableList(column);
-            newColumnByBlock.put(base, immutableColumn);
-            for (Block variant : variants) {
-                newColumnByBlock.put(variant, immutableColumn);
+        Map<Block, List<Block>> newMatrix = new LinkedHashMap<>(previous.matrix());
+        Map<Block, Block> newVariantToBase = new HashMap<>(previous.variantToBase());
+        Set<Block> newAllBlocks = new HashSet<>(previous.allBlocks());
+        Map<Block, List<Block>> newColumnByBlock = new HashMap<>(previous.columnByBlock());
+        Map<Block, String> newReasons = new HashMap<>(reasons);
+
+        // Drop the old contents of every changed column first, so a variant that moved
+        // between two changed columns is not removed again after being re-added.
+        for (Block base : changedBases) {
+            for (Block variant : previous.matrix().get(base)) {
+                if (newVariantToBase.get(variant) == base) {
+                    newVariantToBase.remove(variant);
+                    newAllBlocks.remove(variant);
+                    newColumnByBlock.remove(variant);
+                }
             }
         }
 
-        // NOTE: We do NOT update the mutable `matrix` here. It must remain mutable
-        // so that subsequent addVariant() calls during bootstrap/rebuild can still
-        // append to the lists. Only the snapshot needs sorted/immutable copies.
+        for (Block base : changedBases) {
+            putColumn(base, matrix.get(base), newMatrix, newVariantToBase, newAllBlocks, newColumnByBlock);
+        }
 
-        // Atomically swap the snapshot — readers immediately see the new state.
-        snapshot = new Snapshot(
-                Collections.unmodifiableMap(newMatrix),
-                Collections.unmodifiableSet(newAllBlocks),
-                Collections.unmodifiableMap(newVariantToBase),
-                Collections.unmodifiableMap(newColumnByBlock),
-                Collections.unmodifiableMap(newReasons)
+        publish(Snapshot.of(newMatrix, newAllBlocks, newVariantToBase, newColumnByBlock, newReasons));
+        Reshaped.LOGGER.info("[BlockMatrix] refreshColumns(): rebuilt {} of {} columns", changedBases.size(), newMatrix.size());
+    }
+
+    private void publish(Snapshot next) {
+        snapshot = next;
+        snapshotVersion++;
+    }
+
+    private void putColumn(Block base,
+                           List<Block> mutableVariants,
+                           Map<Block, List<Block>> newMatrix,
+                           Map<Block, Block> newVariantToBase,
+                           Set<Block> newAllBlocks,
+                           Map<Block, List<Block>> newColumnByBlock) {
+        List<Block> variants = new ArrayList<>(mutableVariants);
+        variants.sort(Comparator.comparing(b -> Registries.BLOCK.getId(b).toString()));
+
+        newMatrix.put(base, Collections.unmodifiableList(variants));
+        newAllBlocks.add(base);
+
+        for (Block variant : variants) {
+            newVariantToBase.put(variant, base);
+            mutableVariantToBase.put(variant, base);
+            newAllBlocks.add(variant);
+        }
+
+        List<Block> column = new ArrayList<>(variants.size() + 1);
+        column.add(base);
+        column.addAll(variants);
+        column.sort(
+                Comparator
+                        .comparing((Block b) -> b.getClass().getSimpleName())
+                        .thenComparing(b -> Registries.BLOCK.getId(b).toString())
         );
-        Reshaped.LOGGER.info("[BlockMatrix] refresh(): snapshot swapped successfully. New allBlocks size: {}", newAllBlocks.size());
+        List<Block> immutableColumn = Collections.unmodifiableList(column);
+        newColumnByBlock.put(base, immutableColumn);
+        for (Block variant : variants) {
+            newColumnByBlock.put(variant, immutableColumn);
+        }
     }
 
-    public void clear() {
+    /**
+     * Rebuilds the raw-ID index of the current snapshot. Must be called whenever block raw IDs
+     * are remapped (e.g. by registry sync when joining a server), since the index is keyed by them.
+     * Synchronized with the refresh methods so a concurrent rebuild's snapshot is never overwritten.
+     */
+    public synchronized void reindex() {
+        Snapshot s = snapshot;
+        publish(new Snapshot(s.matrix(), s.allBlocks(), s.variantToBase(), s.columnByBlock(), s.reasons(),
+                DenseIndex.build(s.matrix(), s.columnByBlock())));
+        Reshaped.LOGGER.info("[BlockMatrix] reindex(): rebuilt raw-ID index for {} columns", s.matrix().size());
+    }
+
+    public synchronized void clear() {
         Reshaped.LOGGER.info("[BlockMatrix] clear() called");
         matrix.clear();
         reasons.clear();
         mutableVariantToBase.clear();
-        snapshot = Snapshot.EMPTY;
+        registrationSession = false;
+        stagedRefreshes = 0;
+        publish(Snapshot.EMPTY);
+    }
+
+    /**
+     * Clears the mutable write-side state but keeps the current snapshot published, so
+     * readers keep seeing the previous matrix until the rebuilt one is swapped in.
+     * <b>Only for use during bootstrap/rebuild under the REBUILDING lock.</b>
+     */
+    public void clearMutable() {
+        Reshaped.LOGGER.info("[BlockMatrix] clearMutable() called, keeping current snapshot visible");
+        matrix.clear();
+        reasons.clear();
+        mutableVariantToBase.clear();
+        registrationSession = false;
+        stagedRefreshes = 0;
+    }
+
+    /**
+     * Opens a bulk registration session. Until {@link #endRegistrationSession()} is called,
+     * {@code addVariant}/{@code addColumn} calls that request a refresh only stage it, so that
+     * registering thousands of variants costs one snapshot build instead of one per block.
+     * <b>Only for use during bootstrap/rebuild under the REBUILDING lock.</b>
+     */
+    public void beginRegistrationSession() {
+        registrationSession = true;
+        stagedRefreshes = 0;
+    }
+
+    /**
+     * Closes the current registration session and publishes a single snapshot
+     * containing every addition staged while it was open.
+     *
+     * @return the number of refreshes that were coalesced into this one
+     */
+    public int endRegistrationSession() {
+        int staged = stagedRefreshes;
+        registrationSession = false;
+        stagedRefreshes = 0;
+        refresh();
+        return staged;
+    }
+
+    /**
+     * Closes the current registration session and publishes a snapshot in which only the
+     * given columns are rebuilt (see {@link #refreshColumns(Collection)}).
+     *
+     * @return the number of refreshes that were coalesced into this one
+     */
+    public int endRegistrationSession(Collection<Block> changedBases) {
+        int staged = stagedRefreshes;
+        registrationSession = false;
+        stagedRefreshes = 0;
+        if (!changedBases.isEmpty()) {
+            refreshColumns(changedBases);
+        }
+        return staged;
+    }
+
+    /**
+     * Closes the current registration session without publishing a snapshot.
+     * Used on failure paths so a half-built mutable state is never made visible.
+     */
+    public void abandonRegistrationSession() {
+        if (registrationSession) {
+            Reshaped.LOGGER.warn("[BlockMatrix] abandonRegistrationSession(): discarding {} staged refreshes", stagedRefreshes);
+        }
+        registrationSession = false;
+        stagedRefreshes = 0;
+    }
+
+    public boolean isInRegistrationSession() {
+        return registrationSession;
+    }
+
+    private void requestRefresh() {
+        if (registrationSession) {
+            stagedRefreshes++;
+            return;
+        }
+        refresh();
     }
 
     public void addVariant(Block baseBlock, Block variant, boolean shouldRefresh) {
@@ -98,7 +247,7 @@ public class BlockMatrix {
             mutableVariantToBase.put(variant, baseBlock);
             Reshaped.LOGGER.debug("[BlockMatrix] addVariant: added {} to base {} (shouldRefresh={})",
                     Registries.BLOCK.getId(variant), Registries.BLOCK.getId(baseBlock), shouldRefresh);
-            if (shouldRefresh) refresh();
+            if (shouldRefresh) requestRefresh();
         }
     }
 
@@ -118,7 +267,20 @@ public class BlockMatrix {
             matrix.put(baseBlock, existing);
             Reshaped.LOGGER.debug("[BlockMatrix] addColumn: added column for base {} with {} variants (shouldRefresh={})",
                     Registries.BLOCK.getId(baseBlock), variants.size(), shouldRefresh);
-            if (shouldRefresh) refresh();
+            if (shouldRefresh) requestRefresh();
+        }
+    }
+
+    /**
+     * Removes a variant from a column. The snapshot is unaffected until the next refresh.
+     */
+    public void removeVariant(Block baseBlock, Block variant) {
+        List<Block> existing = matrix.get(baseBlock);
+        if (existing != null && existing.remove(variant)) {
+            mutableVariantToBase.remove(variant, baseBlock);
+            reasons.remove(variant);
+            Reshaped.LOGGER.debug("[BlockMatrix] removeVariant: removed {} from base {}",
+                    Registries.BLOCK.getId(variant), Registries.BLOCK.getId(baseBlock));
         }
     }
 
@@ -126,15 +288,25 @@ public class BlockMatrix {
         reasons.put(block, reason);
     }
 
+    /**
+     * Base block of {@code variant} in the published snapshot. Safe from any thread; during a
+     * rebuild this keeps returning the previous state until the new snapshot is swapped in.
+     */
     public Block getBaseBlock(Block variant) {
-        Block base = snapshot.variantToBase().get(variant);
-        if (base != null) return base;
-        // Fallback for write-path: during bootstrap/rebuild the snapshot hasn't been
-        // built yet, but addVariant() keeps the mutable map updated.
-        return mutableVariantToBase.get(variant);
+        return snapshot.dense().baseOf(variant);
+    }
+
+    /**
+     * Base block of {@code variant} as seen by the write path, including variants added by the
+     * registration session in progress.
+     * <b>Only for use during bootstrap/rebuild under the REBUILDING lock.</b>
+     */
+    public Block getPendingBaseBlock(Block variant) {
+        Block pending = mutableVariantToBase.get(variant);
+        return pending != null ? pending : snapshot.dense().baseOf(variant);
     }
 
-    // ── Read methods (all read from the volatile snapshot, with mutable fallback for write path) ──
+    // ── Read methods (all read from the volatile snapshot) ──
 
     /**
      * Returns the internal mutable matrix map.
@@ -158,33 +330,33 @@ public class BlockMatrix {
     }
 
     public boolean hasBlock(Block block) {
-        return snapshot.allBlocks().contains(block);
+        return snapshot.dense().columnOf(block) >= 0;
     }
 
     public List<Block> getColumn(Block block) {
-        return snapshot.columnByBlock().getOrDefault(block, Collections.emptyList());
+        DenseIndex dense = snapshot.dense();
+        int column = dense.columnOf(block);
+        return column >= 0 ? dense.columns()[column] : Collections.emptyList();
     }
 
     public boolean areInSameColumn(Block first, Block second) {
-        Block firstBase = resolveBase(first);
-        if (firstBase == null) {
-            return false;
-        }
-        return firstBase == resolveBase(second);
-    }
-
-    private Block resolveBase(Block block) {
-        Snapshot s = snapshot;
-        if (s.matrix().containsKey(block)) {
-            return block;
-        }
-        return s.variantToBase().get(block);
+        DenseIndex dense = snapshot.dense();
+        int column = dense.columnOf(first);
+        return column >= 0 && column == dense.columnOf(second);
     }
 
     public Map<Block, List<Block>> getMatrix() {
         return snapshot.matrix();
     }
 
+    /**
+     * Incremented every time a snapshot is published (refresh, reindex, clear), so caches
+     * derived from the snapshot can tell when they are stale.
+     */
+    public int getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
     /**
      * An immutable snapshot of the matrix state.  All reader methods use this
      * so they never see a half-built map.
@@ -194,14 +366,91 @@ public class BlockMatrix {
             Set<Block> allBlocks,
             Map<Block, Block> variantToBase,
             Map<Block, List<Block>> columnByBlock,
-            Map<Block, String> reasons
+            Map<Block, String> reasons,
+            DenseIndex dense
     ) {
         static final Snapshot EMPTY = new Snapshot(
                 Collections.emptyMap(),
                 Collections.emptySet(),
                 Collections.emptyMap(),
                 Collections.emptyMap(),
-                Collections.emptyMap()
+                Collections.emptyMap(),
+                DenseIndex.EMPTY
         );
+
+        static Snapshot of(Map<Block, List<Block>> matrix,
+                           Set<Block> allBlocks,
+                           Map<Block, Block> variantToBase,
+                           Map<Block, List<Block>> columnByBlock,
+                           Map<Block, String> reasons) {
+            return new Snapshot(
+                    Collections.unmodifiableMap(matrix),
+                    Collections.unmodifiableSet(allBlocks),
+                    Collections.unmodifiableMap(variantToBase),
+                    Collections.unmodifiableMap(columnByBlock),
+                    Collections.unmodifiableMap(reasons),
+                    DenseIndex.build(matrix, columnByBlock)
+            );
+        }
+    }
+
+    /**
+     * Read-side index over block raw IDs, so the render-thread lookups ({@code hasBlock},
+     * {@code getColumn}, {@code areInSameColumn}, {@code getBaseBlock}) cost one raw-ID probe
+     * plus one or two array loads instead of several {@code HashMap} lookups.
+     * Entries are -1 for blocks that are not in the matrix; blocks registered after the
+     * index was built fall outside the arrays and read as absent.
+     *
+     * @param baseRawIds raw ID of each block's base (a base maps to itself)
+     * @param columnIds  index into {@code columns} for each block
+     * @param columns    the sorted column of every base, in matrix order
+     */
+    private record DenseIndex(int[] baseRawIds, int[] columnIds, List<Block>[] columns) {
+        @SuppressWarnings("unchecked")
+        static final DenseIndex EMPTY = new DenseIndex(new int[0], new int[0], new List[0]);
+
+        @SuppressWarnings("unchecked")
+        static DenseIndex build(Map<Block, List<Block>> matrix, Map<Block, List<Block>> columnByBlock) {
+            int size = Registries.BLOCK.size();
+            int[] baseRawIds = new int[size];
+            int[] columnIds = new int[size];
+            Arrays.fill(baseRawIds, -1);
+            Arrays.fill(columnIds, -1);
+            List<Block>[] columns = new List[matrix.size()];
+
+            int column = 0;
+            for (Map.Entry<Block, List<Block>> entry : matrix.entrySet()) {
+                int baseRawId = Registries.BLOCK.getRawId(entry.getKey());
+                columns[column] = columnByBlock.get(entry.getKey());
+                if (baseRawId >= 0 && baseRawId < size) {
+                    baseRawIds[baseRawId] = baseRawId;
+                    columnIds[baseRawId] = column;
+                    for (Block variant : entry.getValue()) {
+                        int rawId = Registries.BLOCK.getRawId(variant);
+                        if (rawId >= 0 && rawId < size) {
+                            baseRawIds[rawId] = baseRawId;
+                            columnIds[rawId] = column;
+                        }
+                    }
+                }
+                column++;
+            }
+            return new DenseIndex(baseRawIds, columnIds, columns);
+        }
+
+        int columnOf(Block block) {
+            int rawId = Registries.BLOCK.getRawId(block);
+            return rawId >= 0 && rawId < columnIds.length ? columnIds[rawId] : -1;
+        }
+
+        /**
+         * Returns the base of {@code variant}, or null if it is a base itself or not in the matrix.
+         */
+        Block baseOf(Block variant) {
+            int rawId = Registries.BLOCK.getRawId(variant);
+            if (rawId < 0 || rawId >= baseRawIds.length) return null;
+            int baseRawId = baseRawIds[rawId];
+            return baseRawId >= 0 && baseRawId != rawId ? Registries.BLOCK.get(baseRawId) : null;
+        }
     }
 }
@@ -1,10 +1,14 @@
 package net.f3rr3.reshaped.matrix;
 
 import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.config.server.ServerConfig;
+import net.f3rr3.reshaped.registry.VariantCompleter;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.registry.RegistryEntryAddedCallback;
+import net.fabricmc.fabric.api.event.registry.RegistryIdRemapCallback;
 import net.minecraft.block.Block;
 import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
 
 public class BlockRegistryScanner {
     public static void init(BlockMatrix matrix) {
@@ -21,22 +25,30 @@ public class BlockRegistryScanner {
 
         ServerLifecycleEvents.SERVER_STARTED.register(server -> {
             Reshaped.LOGGER.info("[BlockRegistryScanner] SERVER_STARTED triggered on thread: {}", Thread.currentThread().getName());
-            MatrixRebuilder.rebuild(matrix, server);
+            rebuild(matrix, server);
         });
 
         ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
             Reshaped.LOGGER.info("[BlockRegistryScanner] END_DATA_PACK_RELOAD triggered (success={}) on thread: {}",
                     success, Thread.currentThread().getName());
             if (success) {
-                MatrixRebuilder.rebuild(matrix, server);
+                rebuild(matrix, server);
             }
         });
 
+        // Async rebuild stages are queued on the server; reset if it stops before running them.
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> MatrixRebuilder.onServerStopped(matrix));
+
         RegistryEntryAddedCallback.event(Registries.BLOCK).register((rawId, id, block) -> {
+            // Index every slab/stairs, including our own, so VariantCompleter never has to rescan the registry.
+            VariantCompleter.onBlockRegistered(id, block);
             if (MatrixRebuilder.isSuppressed()) return;
             MatrixRebuilder.bootstrapAddedBlock(matrix, block);
         });
 
+        // The snapshot's read index is keyed by raw ID; registry sync can renumber blocks on join.
+        RegistryIdRemapCallback.event(Registries.BLOCK).register(state -> matrix.reindex());
+
         RegistryEntryAddedCallback.event(Registries.ITEM).register((rawId, id, item) -> {
             if (MatrixRebuilder.isSuppressed()) return;
 
@@ -48,4 +60,12 @@ public class BlockRegistryScanner {
             }
         });
     }
+
+    private static void rebuild(BlockMatrix matrix, MinecraftServer server) {
+        if (ServerConfig.get().asyncMatrixRebuild) {
+            MatrixRebuilder.rebuildAsync(matrix, server, false);
+        } else {
+            MatrixRebuilder.rebuild(matrix, server);
+        }
+    }
 }
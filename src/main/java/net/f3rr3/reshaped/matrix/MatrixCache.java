@@ -0,0 +1,236 @@
+package net.f3rr3.reshaped.matrix;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Persists the final matrix columns and reasons between launches.
+ * <p>
+ * Each file is named after a fingerprint of everything classification depends on: the loaded
+ * mods and their versions, the number of non-Reshaped blocks registered at classification time
+ * and the contents of the {@code base_block_allow}/{@code base_block_deny} tags. A file is only
+ * ever read back under the exact same fingerprint, so a changed modlist or tag simply misses.
+ * <p>
+ * Format: magic, version, fingerprint, a string table (every ID and reason once), then per
+ * column the base and its variants as (id, reason) string-table indices.
+ */
+public final class MatrixCache {
+    private static final int MAGIC = 0x5253484D; // "RSHM"
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_CACHE_FILES = 4;
+    private static final Path CACHE_DIR = FabricLoader.getInstance().getGameDir().resolve(".cache").resolve(Reshaped.MOD_ID);
+    /**
+     * The mod set cannot change within a session, so its fingerprint parts are built once.
+     */
+    private static List<String> modParts;
+
+    private MatrixCache() {
+    }
+
+    /**
+     * Fingerprint of the current mod set, registry size and filter tags.
+     * Tags are only bound once datapacks load, so this differs between early init and server start.
+     */
+    public static long computeFingerprint() {
+        return computeFingerprint(BaseBlockFilter.captureFilterTags());
+    }
+
+    /**
+     * Same as {@link #computeFingerprint()}, for callers that already captured the filter tags.
+     */
+    public static long computeFingerprint(BaseBlockFilter.FilterTags tags) {
+        List<String> parts = new ArrayList<>(modParts());
+
+        int foreignBlocks = 0;
+        for (Identifier id : Registries.BLOCK.getIds()) {
+            if (!Reshaped.MOD_ID.equals(id.getNamespace())) foreignBlocks++;
+        }
+        parts.add("blocks:" + foreignBlocks);
+
+        for (Block block : tags.allow()) parts.add("allow:" + Registries.BLOCK.getId(block));
+        for (Block block : tags.deny()) parts.add("deny:" + Registries.BLOCK.getId(block));
+        Collections.sort(parts);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            byte[] hash = digest.digest();
+            long fingerprint = 0;
+            for (int i = 0; i < 8; i++) {
+                fingerprint = (fingerprint << 8) | (hash[i] & 0xFF);
+            }
+            return fingerprint;
+        } catch (NoSuchAlgorithmException e) {
+            return parts.hashCode();
+        }
+    }
+
+    private static synchronized List<String> modParts() {
+        if (modParts == null) {
+            List<String> parts = new ArrayList<>();
+            for (ModContainer mod : FabricLoader.getInstance().getAllMods()) {
+                parts.add("mod:" + mod.getMetadata().getId() + "@" + mod.getMetadata().getVersion().getFriendlyString());
+            }
+            modParts = List.copyOf(parts);
+        }
+        return modParts;
+    }
+
+    /**
+     * Captures the published snapshot of {@code matrix} into a form that can be written later
+     * from any thread.
+     */
+    public static CachedMatrix capture(BlockMatrix matrix) {
+        Map<Identifier, List<Identifier>> columns = new LinkedHashMap<>();
+        Map<Identifier, String> reasons = new HashMap<>();
+        for (Map.Entry<Block, List<Block>> entry : matrix.getMatrix().entrySet()) {
+            Identifier baseId = Registries.BLOCK.getId(entry.getKey());
+            reasons.put(baseId, matrix.getReason(entry.getKey()));
+            List<Identifier> variantIds = new ArrayList<>(entry.getValue().size());
+            for (Block variant : entry.getValue()) {
+                Identifier variantId = Registries.BLOCK.getId(variant);
+                variantIds.add(variantId);
+                reasons.put(variantId, matrix.getReason(variant));
+            }
+            columns.put(baseId, variantIds);
+        }
+        return new CachedMatrix(columns, reasons);
+    }
+
+    public static CachedMatrix load(long fingerprint) {
+        Path file = fileFor(fingerprint);
+        if (Files.notExists(file)) {
+            Reshaped.LOGGER.info("[MatrixCache] No cache for fingerprint {}", Long.toHexString(fingerprint));
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != fingerprint) {
+                Reshaped.LOGGER.info("[MatrixCache] Ignoring stale cache file {}", file.getFileName());
+                return null;
+            }
+
+            int stringCount = in.readInt();
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                strings[i] = in.readUTF();
+            }
+
+            int columnCount = in.readInt();
+            Map<Identifier, List<Identifier>> columns = new LinkedHashMap<>(columnCount * 2);
+            Map<Identifier, String> reasons = new HashMap<>();
+            for (int c = 0; c < columnCount; c++) {
+                Identifier baseId = new Identifier(strings[in.readInt()]);
+                reasons.put(baseId, strings[in.readInt()]);
+                int variantCount = in.readInt();
+                List<Identifier> variants = new ArrayList<>(variantCount);
+                for (int v = 0; v < variantCount; v++) {
+                    Identifier variantId = new Identifier(strings[in.readInt()]);
+                    reasons.put(variantId, strings[in.readInt()]);
+                    variants.add(variantId);
+                }
+                columns.put(baseId, variants);
+            }
+
+            Reshaped.LOGGER.info("[MatrixCache] Loaded {} columns from {}", columns.size(), file.getFileName());
+            return new CachedMatrix(columns, reasons);
+        } catch (Exception e) {
+            Reshaped.LOGGER.warn("[MatrixCache] Failed to read {}, ignoring it", file.getFileName(), e);
+            return null;
+        }
+    }
+
+    public static void save(long fingerprint, CachedMatrix cached) {
+        Path file = fileFor(fingerprint);
+        try {
+            Files.createDirectories(CACHE_DIR);
+
+            Map<String, Integer> stringIndex = new LinkedHashMap<>();
+            for (Map.Entry<Identifier, List<Identifier>> column : cached.columns().entrySet()) {
+                intern(stringIndex, column.getKey().toString());
+                intern(stringIndex, cached.reason(column.getKey()));
+                for (Identifier variant : column.getValue()) {
+                    intern(stringIndex, variant.toString());
+                    intern(stringIndex, cached.reason(variant));
+                }
+            }
+
+            // Write to a temp file first so a crash mid-write never leaves a truncated cache behind.
+            Path temp = Files.createTempFile(CACHE_DIR, "matrix-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(fingerprint);
+
+                out.writeInt(stringIndex.size());
+                for (String value : stringIndex.keySet()) {
+                    out.writeUTF(value);
+                }
+
+                out.writeInt(cached.columns().size());
+                for (Map.Entry<Identifier, List<Identifier>> column : cached.columns().entrySet()) {
+                    out.writeInt(stringIndex.get(column.getKey().toString()));
+                    out.writeInt(stringIndex.get(cached.reason(column.getKey())));
+                    out.writeInt(column.getValue().size());
+                    for (Identifier variant : column.getValue()) {
+                        out.writeInt(stringIndex.get(variant.toString()));
+                        out.writeInt(stringIndex.get(cached.reason(variant)));
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Reshaped.LOGGER.info("[MatrixCache] Saved {} columns to {}", cached.columns().size(), file.getFileName());
+            pruneOldFiles();
+        } catch (IOException e) {
+            Reshaped.LOGGER.warn("[MatrixCache] Failed to write {}", file, e);
+        }
+    }
+
+    private static void intern(Map<String, Integer> stringIndex, String value) {
+        stringIndex.putIfAbsent(value, stringIndex.size());
+    }
+
+    private static Path fileFor(long fingerprint) {
+        return CACHE_DIR.resolve("matrix-" + Long.toHexString(fingerprint) + ".bin");
+    }
+
+    /**
+     * Keeps only the most recently written files; early-init and server-start fingerprints
+     * differ, so a couple of files per modlist is normal.
+     */
+    private static void pruneOldFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(CACHE_DIR)) {
+            files = new ArrayList<>(stream.filter(path -> path.getFileName().toString().endsWith(".bin")).toList());
+        }
+        if (files.size() <= MAX_CACHE_FILES) return;
+
+        files.sort(Comparator.comparingLong((Path path) -> path.toFile().lastModified()).reversed());
+        for (Path stale : files.subList(MAX_CACHE_FILES, files.size())) {
+            Files.deleteIfExists(stale);
+        }
+    }
+
+    public record CachedMatrix(Map<Identifier, List<Identifier>> columns, Map<Identifier, String> reasons) {
+        String reason(Identifier id) {
+            return reasons.getOrDefault(id, "No reason specified");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package net.f3rr3.reshaped.matrix;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.function.BooleanBiFunction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.util.shape.VoxelShapes;
+import net.minecraft.world.EmptyBlockView;
+
+import java.util.*;
+
+/**
+ * Face-culling lookup for pairs of states that share a matrix column, used by
+ * {@code BlockShouldDrawSideMixin} on every face during chunk meshing.
+ * <p>
+ * Built lazily once per published snapshot. Every state of every column block gets its column
+ * index and, per side, an interned culling-face ID; the draw/cull result for a pair of face IDs
+ * is computed on first use and stored in a flat byte table. A lookup is therefore two state
+ * raw-ID probes and a few array loads, with no allocation. States whose shape depends on the
+ * world ({@link Block#hasDynamicBounds()}) have no face ID and are left to the caller.
+ */
+public final class MatrixCullingTable {
+    private static final int NO_FACE = -1;
+    private static final int MAX_FACES = 1024;
+    private static final byte UNKNOWN = 0;
+    private static final byte DRAW = 1;
+    private static final byte CULL = 2;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static volatile MatrixCullingTable current;
+
+    private final BlockMatrix matrix;
+    private final int version;
+    private final int[] columnByState;
+    private final int[] faceByStateSide;
+    private final VoxelShape[] faces;
+    private final byte[] pairResults;
+
+    private MatrixCullingTable(BlockMatrix matrix, int version, int[] columnByState, int[] faceByStateSide, VoxelShape[] faces) {
+        this.matrix = matrix;
+        this.version = version;
+        this.columnByState = columnByState;
+        this.faceByStateSide = faceByStateSide;
+        this.faces = faces;
+        this.pairResults = new byte[faces.length * faces.length];
+    }
+
+    /**
+     * Returns the table for the current snapshot of {@code matrix}, rebuilding it if a newer
+     * snapshot has been published since.
+     */
+    public static MatrixCullingTable get(BlockMatrix matrix) {
+        MatrixCullingTable table = current;
+        if (table != null && table.matrix == matrix && table.version == matrix.getSnapshotVersion()) {
+            return table;
+        }
+        synchronized (MatrixCullingTable.class) {
+            table = current;
+            int version = matrix.getSnapshotVersion();
+            if (table == null || table.matrix != matrix || table.version != version) {
+                table = build(matrix, version);
+                current = table;
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Column index of {@code state}'s block, or -1 if it is not part of the matrix.
+     */
+    public int columnOf(BlockState state) {
+        int rawId = Block.getRawIdFromState(state);
+        return rawId >= 0 && rawId < columnByState.length ? columnByState[rawId] : -1;
+    }
+
+    /**
+     * Whether {@code side} of {@code state} should be drawn against {@code neighbor}, two states of
+     * the same column. Returns 1 to draw, 0 to cull, or -1 if either state has no precomputed face.
+     */
+    public int shouldDrawSide(BlockState state, BlockState neighbor, Direction side) {
+        int selfFace = faceOf(state, side);
+        int otherFace = faceOf(neighbor, side.getOpposite());
+        if (selfFace == NO_FACE || otherFace == NO_FACE) {
+            return -1;
+        }
+
+        int pair = selfFace * faces.length + otherFace;
+        byte result = pairResults[pair];
+        if (result == UNKNOWN) {
+            // Same outcome as vanilla: an empty own face is always drawn. Racing writers store the same value.
+            VoxelShape face = faces[selfFace];
+            boolean draw = face.isEmpty() || VoxelShapes.matchesAnywhere(face, faces[otherFace], BooleanBiFunction.ONLY_FIRST);
+            result = draw ? DRAW : CULL;
+            pairResults[pair] = result;
+        }
+        return result == DRAW ? 1 : 0;
+    }
+
+    private int faceOf(BlockState state, Direction side) {
+        int rawId = Block.getRawIdFromState(state);
+        return rawId >= 0 && rawId < columnByState.length ? faceByStateSide[rawId * DIRECTIONS.length + side.ordinal()] : NO_FACE;
+    }
+
+    private static MatrixCullingTable build(BlockMatrix matrix, int version) {
+        long start = System.nanoTime();
+        int stateCount = Block.STATE_IDS.size();
+        int[] columnByState = new int[stateCount];
+        int[] faceByStateSide = new int[stateCount * DIRECTIONS.length];
+        Arrays.fill(columnByState, -1);
+        Arrays.fill(faceByStateSide, NO_FACE);
+
+        // Culling faces are interned by their box list; equal geometry from different states then
+        // shares one ID, which keeps the pair table small.
+        Map<List<Box>, Integer> faceIds = new HashMap<>();
+        List<VoxelShape> faces = new ArrayList<>();
+
+        int column = 0;
+        for (Map.Entry<Block, List<Block>> entry : matrix.getMatrix().entrySet()) {
+            List<Block> blocks = new ArrayList<>(entry.getValue().size() + 1);
+            blocks.add(entry.getKey());
+            blocks.addAll(entry.getValue());
+            for (Block block : blocks) {
+                for (BlockState state : block.getStateManager().getStates()) {
+                    int rawId = Block.getRawIdFromState(state);
+                    if (rawId < 0 || rawId >= stateCount) continue;
+                    columnByState[rawId] = column;
+                    if (block.hasDynamicBounds()) continue;
+
+                    for (Direction side : DIRECTIONS) {
+                        VoxelShape face = state.getCullingFace(EmptyBlockView.INSTANCE, BlockPos.ORIGIN, side);
+                        Integer id = faceIds.get(face.getBoundingBoxes());
+                        if (id == null && faces.size() < MAX_FACES) {
+                            id = faces.size();
+                            faceIds.put(face.getBoundingBoxes(), id);
+                            faces.add(face);
+                        }
+                        if (id != null) {
+                            faceByStateSide[rawId * DIRECTIONS.length + side.ordinal()] = id;
+                        }
+                    }
+                }
+            }
+            column++;
+        }
+
+        Reshaped.LOGGER.info("[MatrixCullingTable] built for {} columns: {} distinct faces in {} ms",
+                column, faces.size(), (System.nanoTime() - start) / 1_000_000L);
+        return new MatrixCullingTable(matrix, version, columnByState, faceByStateSide, faces.toArray(new VoxelShape[0]));
+    }
+}
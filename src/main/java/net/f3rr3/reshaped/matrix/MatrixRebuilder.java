@@ -1,16 +1,23 @@
 package net.f3rr3.reshaped.matrix;
 
 import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.config.server.ServerConfig;
 import net.f3rr3.reshaped.registry.VariantCompleter;
 import net.f3rr3.reshaped.registry.VariantRegistry;
 import net.minecraft.block.Block;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -23,7 +30,34 @@ public final class MatrixRebuilder {
     private static final AtomicInteger BOOTSTRAP_ADD_SKIPPED_ALREADY_KNOWN = new AtomicInteger(0);
     private static final AtomicInteger BOOTSTRAP_ADD_PROCESSED = new AtomicInteger(0);
     private static final AtomicBoolean HAS_BOOTSTRAPPED = new AtomicBoolean(false);
+    private static final AtomicBoolean PENDING_REBUILD_FULL = new AtomicBoolean(false);
     private static volatile MinecraftServer PENDING_REBUILD_SERVER;
+    private static CompletableFuture<Void> pendingRebuildFuture;
+    /**
+     * Bumped when the server stops, so stages of an async rebuild started for that server are
+     * recognised as stale if they ever run.
+     */
+    private static final AtomicInteger REBUILD_GENERATION = new AtomicInteger(0);
+    /**
+     * Single background thread for the read-only half of {@link #rebuildAsync}.
+     */
+    private static final ExecutorService REBUILD_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Reshaped Matrix Rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Inputs and results of the last successful rebuild, reused by the next incremental rebuild.
+     * Cleared whenever the matrix is rebuilt from a different candidate set.
+     */
+    private static volatile RebuildState lastRebuild;
+    /**
+     * What the matrix cache file was last written from, so rebuilds that change nothing skip
+     * the capture and the write.
+     */
+    private static volatile long lastSavedFingerprint;
+    private static volatile int lastSavedSnapshotVersion = -1;
+    private static volatile MatrixCache.CachedMatrix lastSavedMatrix;
     /**
      * When true, the {@code RegistryEntryAddedCallback} should be ignored.
      * This is set during bootstrap/rebuild while we ourselves dynamically
@@ -74,47 +108,44 @@ public final class MatrixRebuilder {
         }
 
         try {
+            long bootstrapStart = System.nanoTime();
+            lastRebuild = null;
             matrix.clear();
+            matrix.beginRegistrationSession();
+
+            long phaseStart = System.nanoTime();
+            boolean useCache = ServerConfig.get().persistentMatrixCache;
+            long fingerprint = useCache ? MatrixCache.computeFingerprint() : 0L;
+            Set<Block> baseCandidates = useCache ? seedFromCache(matrix, MatrixCache.load(fingerprint)) : null;
+            boolean fromCache = baseCandidates != null;
+
+            if (fromCache) {
+                lastSavedFingerprint = fingerprint;
+                lastSavedMatrix = null;
+                Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: restored {} columns from matrix cache, skipping classification",
+                        baseCandidates.size());
+                phaseStart = logPhase("bootstrap", "load matrix cache", phaseStart, baseCandidates.size());
+            } else {
+                baseCandidates = BaseBlockFilter.collectBaseCandidates();
+                Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: collected {} base candidates", baseCandidates.size());
+                phaseStart = logPhase("bootstrap", "collect candidates", phaseStart, baseCandidates.size());
 
-            Set<Block> baseCandidates = BaseBlockFilter.collectBaseCandidates();
-            Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: collected {} base candidates", baseCandidates.size());
+                VariantCompleter.rebuildIndex();
+                phaseStart = logPhase("bootstrap", "variant name index", phaseStart, baseCandidates.size());
 
-            for (Block base : baseCandidates) {
-                matrix.addColumn(base, List.of(), false);
-                matrix.setReason(base, "Base block selected by state-based filter");
+                for (Block base : baseCandidates) {
+                    matrix.addColumn(base, List.of(), false);
+                    matrix.setReason(base, "Base block selected by state-based filter");
+                }
             }
 
             Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: mutable matrix has {} entries before variant registration",
                     matrix.getMutableMatrix().size());
+            phaseStart = logPhase("bootstrap", "seed columns", phaseStart, baseCandidates.size());
 
-            // Suppress the RegistryEntryAddedCallback while we register our own variant blocks.
-            Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: setting suppressCallback = true");
-            suppressCallback = true;
-            try {
-                List<Block> bases = new ArrayList<>(matrix.getMutableMatrix().keySet());
-                Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: registering variants for {} bases", bases.size());
-
-                int completed = 0;
-                boolean frozen = isRegistryFrozen();
-                if (frozen) {
-                    Reshaped.LOGGER.info("[MatrixRebuilder] Registry is frozen. Skipping dynamic registration pass, will only index existing variants.");
-                }
-
-                for (Block base : bases) {
-                    try {
-                        VariantCompleter.completeVariant(base, matrix);
-                        VariantRegistry.registerAll(base, matrix);
-                        completed++;
-                    } catch (Exception e) {
-                        Reshaped.LOGGER.warn("[MatrixRebuilder] bootstrap: variant processing FAILED for base {} ({})",
-                                Registries.BLOCK.getId(base), e.getMessage(), e);
-                    }
-                }
-                Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: completed variant registration for {}/{} bases", completed, bases.size());
-            } finally {
-                suppressCallback = false;
-                Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: set suppressCallback = false");
-            }
+            List<Block> bases = new ArrayList<>(matrix.getMutableMatrix().keySet());
+            completeVariants("bootstrap", bases, matrix);
+            phaseStart = logPhase("bootstrap", "variant registration", phaseStart, bases.size());
 
             Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: mutable matrix has {} entries before refresh()",
                     matrix.getMutableMatrix().size());
@@ -127,7 +158,8 @@ public final class MatrixRebuilder {
                 }
             }
 
-            matrix.refresh();
+            int coalesced = matrix.endRegistrationSession();
+            logPhase("bootstrap", "snapshot refresh (" + coalesced + " staged refreshes coalesced)", phaseStart, baseCandidates.size());
 
             Reshaped.LOGGER.info(
                     "[MatrixRebuilder] Bootstrapped block matrix: {} bases, {} columns (snapshot matrix size: {})",
@@ -135,120 +167,488 @@ public final class MatrixRebuilder {
                     matrix.getMutableMatrix().size(),
                     matrix.getMatrix().size()
             );
+            Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: functional override cache hits={}, misses={}",
+                    BaseBlockFilter.getOverrideCacheHits(), BaseBlockFilter.getOverrideCacheMisses());
+            logPhase("bootstrap", "total", bootstrapStart, baseCandidates.size());
+
+            if (useCache && !fromCache) {
+                saveCacheIfChanged(matrix, fingerprint);
+            }
         } catch (Exception e) {
             Reshaped.LOGGER.error("[MatrixRebuilder] Failed to bootstrap matrix", e);
         } finally {
+            matrix.abandonRegistrationSession();
             REBUILDING.set(false);
             Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: set REBUILDING = false");
         }
     }
 
     public static void rebuild(BlockMatrix matrix, MinecraftServer server) {
+        rebuild(matrix, server, false);
+    }
+
+    /**
+     * Rebuilds the matrix from the current recipes and tags on the calling thread.
+     * <p>
+     * When a previous rebuild's state is available and the block registry and filter tags are
+     * unchanged, only associations whose recipes changed are recomputed and only the affected
+     * columns are republished. Otherwise (or when {@code forceFull} is set, or incremental
+     * rebuilds are disabled in the server config) the matrix is rebuilt from scratch.
+     */
+    public static void rebuild(BlockMatrix matrix, MinecraftServer server, boolean forceFull) {
         if (matrix == null || server == null) return;
 
-        Reshaped.LOGGER.info("[MatrixRebuilder] rebuild() called on thread: {}", Thread.currentThread().getName());
+        Reshaped.LOGGER.info("[MatrixRebuilder] rebuild() called on thread: {} (forceFull={})",
+                Thread.currentThread().getName(), forceFull);
 
         if (!REBUILDING.compareAndSet(false, true)) {
-            Reshaped.LOGGER.warn("[MatrixRebuilder] rebuild() DEFERRED — REBUILDING already true, queuing pending rebuild");
-            PENDING_REBUILD_SERVER = server;
-            PENDING_REBUILD.set(true);
+            deferRebuild(server, forceFull);
             return;
         }
 
         try {
-            matrix.clear();
+            long rebuildStart = System.nanoTime();
+            BaseBlockFilter.FilterTags filterTags = BaseBlockFilter.captureFilterTags();
+            int blockRegistrySize = Registries.BLOCK.size();
+            RebuildState previous = reusableState(forceFull, filterTags, blockRegistrySize);
+            Set<Block> baseCandidates = collectCandidates(previous);
+            long fingerprint = cacheFingerprint(previous, filterTags);
+
+            RebuildState computed = computeRebuild(server, previous, baseCandidates, filterTags, blockRegistrySize, fingerprint);
+            applyRebuild(matrix, computed, previous);
+            logPhase(previous != null ? "rebuild (incremental)" : "rebuild", "total", rebuildStart, computed.baseCandidates().size());
+            logBootstrapAddStats();
+        } catch (Exception e) {
+            lastRebuild = null;
+            Reshaped.LOGGER.error("[MatrixRebuilder] Failed to rebuild matrix", e);
+        } finally {
+            matrix.abandonRegistrationSession();
+            REBUILDING.set(false);
+        }
+
+        runPendingRebuild(matrix);
+    }
+
+    /**
+     * Rebuilds the matrix without blocking the server thread.
+     * <p>
+     * Tags and base candidates are captured on the calling (server) thread; only the recipe
+     * association pass runs on a background thread, and readers keep seeing the previous
+     * snapshot meanwhile. Applying the result — registry
+     * mutation for missing variants and the snapshot swap — is scheduled back onto the server
+     * thread. The returned future completes (on the server thread) once the new snapshot is
+     * published, or exceptionally if the rebuild failed.
+     */
+    public static CompletableFuture<Void> rebuildAsync(BlockMatrix matrix, MinecraftServer server, boolean forceFull) {
+        if (matrix == null || server == null) return CompletableFuture.completedFuture(null);
+
+        Reshaped.LOGGER.info("[MatrixRebuilder] rebuildAsync() called on thread: {} (forceFull={})",
+                Thread.currentThread().getName(), forceFull);
+
+        if (!REBUILDING.compareAndSet(false, true)) {
+            return deferRebuild(server, forceFull);
+        }
 
-            Set<Block> baseCandidates = BaseBlockFilter.collectBaseCandidates();
-            Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: collected {} base candidates", baseCandidates.size());
+        long rebuildStart = System.nanoTime();
+        int generation = REBUILD_GENERATION.get();
+        RebuildState previous;
+        Set<Block> baseCandidates;
+        BaseBlockFilter.FilterTags filterTags;
+        int blockRegistrySize;
+        long fingerprint;
+        try {
+            // Tag contents and block state classification are read here, on the caller's (server)
+            // thread, before the worker starts; modded block hooks are not safe to call off it.
+            filterTags = BaseBlockFilter.captureFilterTags();
+            blockRegistrySize = Registries.BLOCK.size();
+            previous = reusableState(forceFull, filterTags, blockRegistrySize);
+            baseCandidates = collectCandidates(previous);
+            fingerprint = cacheFingerprint(previous, filterTags);
+        } catch (Exception e) {
+            REBUILDING.set(false);
+            Reshaped.LOGGER.error("[MatrixRebuilder] Failed to start async rebuild", e);
+            return CompletableFuture.failedFuture(e);
+        }
 
-            for (Block base : baseCandidates) {
-                matrix.addColumn(base, List.of(), false);
-                matrix.setReason(base, "Base block selected by state-based filter");
+        return CompletableFuture
+                .supplyAsync(() -> computeRebuild(server, previous, baseCandidates, filterTags, blockRegistrySize, fingerprint), REBUILD_EXECUTOR)
+                .thenAcceptAsync(computed -> {
+                    if (generation != REBUILD_GENERATION.get()) return;
+                    applyRebuild(matrix, computed, previous);
+                    logPhase(previous != null ? "rebuild (incremental, async)" : "rebuild (async)", "total",
+                            rebuildStart, computed.baseCandidates().size());
+                    logBootstrapAddStats();
+                }, server)
+                .handleAsync((ignored, error) -> {
+                    // A stopped server already reset the rebuild state; don't clobber a newer rebuild.
+                    if (generation != REBUILD_GENERATION.get()) return (Void) null;
+                    matrix.abandonRegistrationSession();
+                    if (error != null) {
+                        lastRebuild = null;
+                        Reshaped.LOGGER.error("[MatrixRebuilder] Failed to rebuild matrix asynchronously", error);
+                    }
+                    REBUILDING.set(false);
+                    runPendingRebuild(matrix);
+                    if (error != null) {
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                    }
+                    return (Void) null;
+                }, server);
+    }
+
+    private static CompletableFuture<Void> deferRebuild(MinecraftServer server, boolean forceFull) {
+        Reshaped.LOGGER.warn("[MatrixRebuilder] rebuild() DEFERRED — REBUILDING already true, queuing pending rebuild");
+        synchronized (PENDING_REBUILD) {
+            PENDING_REBUILD_SERVER = server;
+            if (forceFull) PENDING_REBUILD_FULL.set(true);
+            PENDING_REBUILD.set(true);
+            if (pendingRebuildFuture == null) {
+                pendingRebuildFuture = new CompletableFuture<>();
             }
+            return pendingRebuildFuture;
+        }
+    }
 
-            Map<Block, RecipeAssociationService.Association> associations =
-                    RecipeAssociationService.buildAssociations(server, baseCandidates);
+    /**
+     * Resets the rebuild state when the server stops. The apply and cleanup stages of an async
+     * rebuild are queued on the server, which never runs them once it has stopped, so without
+     * this {@code REBUILDING} would stay set and every later rebuild would only be deferred.
+     */
+    public static void onServerStopped(BlockMatrix matrix) {
+        REBUILD_GENERATION.incrementAndGet();
+        CompletableFuture<Void> pendingFuture;
+        synchronized (PENDING_REBUILD) {
+            PENDING_REBUILD.set(false);
+            PENDING_REBUILD_FULL.set(false);
+            PENDING_REBUILD_SERVER = null;
+            pendingFuture = pendingRebuildFuture;
+            pendingRebuildFuture = null;
+        }
+        if (pendingFuture != null) {
+            pendingFuture.cancel(false);
+        }
+        lastRebuild = null;
+        matrix.abandonRegistrationSession();
+        if (REBUILDING.getAndSet(false)) {
+            Reshaped.LOGGER.info("[MatrixRebuilder] Server stopped with a rebuild in flight, reset rebuild state");
+        }
+    }
 
-            int associationCount = 0;
-            for (Map.Entry<Block, RecipeAssociationService.Association> entry : associations.entrySet()) {
-                Block variant = entry.getKey();
-                RecipeAssociationService.Association association = entry.getValue();
-                Block base = association.base();
+    private static void runPendingRebuild(BlockMatrix matrix) {
+        MinecraftServer pendingServer;
+        boolean pendingFull;
+        CompletableFuture<Void> pendingFuture;
+        synchronized (PENDING_REBUILD) {
+            if (!PENDING_REBUILD.getAndSet(false)) return;
+            pendingServer = PENDING_REBUILD_SERVER;
+            PENDING_REBUILD_SERVER = null;
+            pendingFull = PENDING_REBUILD_FULL.getAndSet(false);
+            pendingFuture = pendingRebuildFuture;
+            pendingRebuildFuture = null;
+        }
+        if (pendingServer == null) {
+            if (pendingFuture != null) pendingFuture.complete(null);
+            return;
+        }
 
-                if (!baseCandidates.contains(base) || variant == base) {
-                    continue;
-                }
+        Reshaped.LOGGER.info("[MatrixRebuilder] Processing pending rebuild");
+        if (ServerConfig.get().asyncMatrixRebuild) {
+            CompletableFuture<Void> rebuilt = rebuildAsync(matrix, pendingServer, pendingFull);
+            if (pendingFuture != null) {
+                rebuilt.whenComplete((ignored, error) -> {
+                    if (error != null) pendingFuture.completeExceptionally(error);
+                    else pendingFuture.complete(null);
+                });
+            }
+        } else {
+            rebuild(matrix, pendingServer, pendingFull);
+            if (pendingFuture != null) pendingFuture.complete(null);
+        }
+    }
 
+    /**
+     * Returns the last rebuild's state if it can seed an incremental rebuild, or null when a
+     * full rebuild is required.
+     */
+    private static RebuildState reusableState(boolean forceFull, BaseBlockFilter.FilterTags filterTags, int blockRegistrySize) {
+        RebuildState previous = lastRebuild;
+        if (forceFull || previous == null || !ServerConfig.get().incrementalMatrixRebuild) {
+            return null;
+        }
+        if (blockRegistrySize != previous.blockRegistrySize() || !filterTags.equals(previous.filterTags())) {
+            Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: block registry or filter tags changed, falling back to full rebuild");
+            return null;
+        }
+        return previous;
+    }
+
+    /**
+     * Classifies base candidates for a full rebuild, or reuses the previous set for an
+     * incremental one. Evaluates block states, so it must run on the server thread.
+     */
+    private static Set<Block> collectCandidates(RebuildState previous) {
+        if (previous != null) {
+            return previous.baseCandidates();
+        }
+
+        long phaseStart = System.nanoTime();
+        Set<Block> baseCandidates = BaseBlockFilter.collectBaseCandidates();
+        Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: collected {} base candidates", baseCandidates.size());
+        phaseStart = logPhase("rebuild", "collect candidates", phaseStart, baseCandidates.size());
+
+        VariantCompleter.rebuildIndex();
+        logPhase("rebuild", "variant name index", phaseStart, baseCandidates.size());
+        return baseCandidates;
+    }
+
+    /**
+     * Matrix cache fingerprint for a rebuild, or 0 when the cache is disabled. An incremental
+     * rebuild has the same registry size and filter tags as the previous one, so it reuses that
+     * fingerprint instead of walking the registry again.
+     */
+    private static long cacheFingerprint(RebuildState previous, BaseBlockFilter.FilterTags filterTags) {
+        if (!ServerConfig.get().persistentMatrixCache) return 0L;
+        if (previous != null && previous.fingerprint() != 0L) return previous.fingerprint();
+        return MatrixCache.computeFingerprint(filterTags);
+    }
+
+    /**
+     * Read-only half of a rebuild: runs the recipe association pass over the given candidates.
+     * Touches neither the matrix nor the registry, so it is safe to run off the server thread.
+     */
+    private static RebuildState computeRebuild(MinecraftServer server, RebuildState previous, Set<Block> baseCandidates,
+                                               BaseBlockFilter.FilterTags filterTags, int blockRegistrySize, long fingerprint) {
+        String operation = previous != null ? "rebuild (incremental)" : "rebuild";
+        Reshaped.LOGGER.info("[MatrixRebuilder] {}: computing on thread: {}", operation, Thread.currentThread().getName());
+
+        long phaseStart = System.nanoTime();
+        RecipeAssociationService.AssociationIndex associationIndex = RecipeAssociationService.buildAssociationIndex(
+                server, baseCandidates, previous != null ? previous.associations() : null);
+        logPhase(operation, "recipe associations", phaseStart, baseCandidates.size());
+
+        return new RebuildState(baseCandidates, filterTags, blockRegistrySize, associationIndex, fingerprint);
+    }
+
+    /**
+     * Mutating half of a rebuild: writes the computed state into the matrix, registers missing
+     * variants and publishes the new snapshot. Must run on the server thread.
+     */
+    private static void applyRebuild(BlockMatrix matrix, RebuildState computed, RebuildState previous) {
+        boolean changed = true;
+        if (previous != null) {
+            changed = applyIncrementalRebuild(matrix, computed, previous) > 0;
+        } else {
+            applyFullRebuild(matrix, computed);
+        }
+        lastRebuild = computed;
+
+        if (ServerConfig.get().persistentMatrixCache && (changed || computed.fingerprint() != lastSavedFingerprint)) {
+            saveCacheIfChanged(matrix, computed.fingerprint());
+        }
+    }
+
+    /**
+     * Seeds the matrix from a cached classification. Cached variants that are already registered
+     * are added directly; Reshaped's own variants are registered again by the variant pass, and
+     * cached slab/stairs adoptions let {@link VariantCompleter} skip its name search.
+     *
+     * @return the restored base set, or null if there is no usable cache (nothing is added)
+     */
+    private static Set<Block> seedFromCache(BlockMatrix matrix, MatrixCache.CachedMatrix cached) {
+        if (cached == null) return null;
+
+        Set<Block> bases = new LinkedHashSet<>();
+        for (Identifier baseId : cached.columns().keySet()) {
+            if (!Registries.BLOCK.containsId(baseId)) {
+                Reshaped.LOGGER.info("[MatrixRebuilder] bootstrap: cached base {} is not registered, ignoring matrix cache", baseId);
+                return null;
+            }
+            bases.add(Registries.BLOCK.get(baseId));
+        }
+
+        for (Map.Entry<Identifier, List<Identifier>> column : cached.columns().entrySet()) {
+            Block base = Registries.BLOCK.get(column.getKey());
+            matrix.addColumn(base, List.of(), false);
+            matrix.setReason(base, cached.reasons().getOrDefault(column.getKey(), "Base block selected by state-based filter"));
+            for (Identifier variantId : column.getValue()) {
+                if (!Registries.BLOCK.containsId(variantId)) continue;
+                Block variant = Registries.BLOCK.get(variantId);
                 matrix.addVariant(base, variant, false);
-                matrix.setReason(variant, association.reason());
-                associationCount++;
+                matrix.setReason(variant, cached.reasons().getOrDefault(variantId, "Restored from matrix cache"));
             }
+        }
+        return bases;
+    }
 
-            Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: {} recipe associations added", associationCount);
+    /**
+     * Writes the matrix cache in the background, unless the fingerprint and the matrix contents
+     * are the same as at the last save. A snapshot that was not republished is not captured at all.
+     */
+    private static void saveCacheIfChanged(BlockMatrix matrix, long fingerprint) {
+        int snapshotVersion = matrix.getSnapshotVersion();
+        if (fingerprint == lastSavedFingerprint && snapshotVersion == lastSavedSnapshotVersion) {
+            return;
+        }
 
-            // Suppress the RegistryEntryAddedCallback while we register our own variant blocks.
-            Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: setting suppressCallback = true");
-            suppressCallback = true;
-            try {
-                List<Block> bases = new ArrayList<>(matrix.getMutableMatrix().keySet());
-                Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: registering variants for {} bases", bases.size());
+        MatrixCache.CachedMatrix captured = MatrixCache.capture(matrix);
+        lastSavedSnapshotVersion = snapshotVersion;
+        if (fingerprint == lastSavedFingerprint && captured.equals(lastSavedMatrix)) {
+            Reshaped.LOGGER.debug("[MatrixRebuilder] Matrix cache unchanged, not rewriting it");
+            return;
+        }
 
-                int completed = 0;
-                boolean frozen = isRegistryFrozen();
-                if (frozen) {
-                    Reshaped.LOGGER.info("[MatrixRebuilder] Registry is frozen. Skipping dynamic registration pass in rebuild().");
-                }
+        lastSavedFingerprint = fingerprint;
+        lastSavedMatrix = captured;
+        REBUILD_EXECUTOR.execute(() -> MatrixCache.save(fingerprint, captured));
+    }
 
-                for (Block base : bases) {
-                    try {
-                        VariantCompleter.completeVariant(base, matrix);
-                        VariantRegistry.registerAll(base, matrix);
-                        completed++;
-                    } catch (Exception e) {
-                        Reshaped.LOGGER.warn("[MatrixRebuilder] rebuild: variant processing FAILED for base {} ({})",
-                                Registries.BLOCK.getId(base), e.getMessage(), e);
-                    }
-                }
-                Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: completed variant registration for {}/{} bases", completed, bases.size());
-            } finally {
-                suppressCallback = false;
-                Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: set suppressCallback = false");
+    private static void applyFullRebuild(BlockMatrix matrix, RebuildState computed) {
+        Set<Block> baseCandidates = computed.baseCandidates();
+        long phaseStart = System.nanoTime();
+
+        // Keep the current snapshot visible to readers until the rebuilt one is published.
+        matrix.clearMutable();
+        matrix.beginRegistrationSession();
+
+        for (Block base : baseCandidates) {
+            matrix.addColumn(base, List.of(), false);
+            matrix.setReason(base, "Base block selected by state-based filter");
+        }
+
+        int associationCount = 0;
+        for (Map.Entry<Block, RecipeAssociationService.Association> entry : computed.associations().associations().entrySet()) {
+            Block variant = entry.getKey();
+            RecipeAssociationService.Association association = entry.getValue();
+            Block base = association.base();
+
+            if (!baseCandidates.contains(base) || variant == base) {
+                continue;
             }
 
-            matrix.refresh();
-            Reshaped.LOGGER.info(
-                    "[MatrixRebuilder] Rebuilt block matrix: {} bases, {} recipe associations, {} columns (snapshot: {})",
-                    baseCandidates.size(),
-                    associationCount,
-                    matrix.getMutableMatrix().size(),
-                    matrix.getMatrix().size()
-            );
+            matrix.addVariant(base, variant, false);
+            matrix.setReason(variant, association.reason());
+            associationCount++;
+        }
 
-            // Log incremental bootstrap stats
-            Reshaped.LOGGER.info(
-                    "[MatrixRebuilder] bootstrapAddedBlock stats since last rebuild: calls={}, skippedBusy={}, skippedNotBase={}, skippedAlreadyKnown={}, processed={}",
-                    BOOTSTRAP_ADD_CALLS.get(),
-                    BOOTSTRAP_ADD_SKIPPED_BUSY.get(),
-                    BOOTSTRAP_ADD_SKIPPED_NOT_BASE.get(),
-                    BOOTSTRAP_ADD_SKIPPED_ALREADY_KNOWN.get(),
-                    BOOTSTRAP_ADD_PROCESSED.get()
-            );
-        } catch (Exception e) {
-            Reshaped.LOGGER.error("[MatrixRebuilder] Failed to rebuild matrix", e);
-        } finally {
-            REBUILDING.set(false);
+        Reshaped.LOGGER.info("[MatrixRebuilder] rebuild: {} recipe associations added", associationCount);
+        phaseStart = logPhase("rebuild", "apply associations", phaseStart, baseCandidates.size());
+
+        List<Block> bases = new ArrayList<>(matrix.getMutableMatrix().keySet());
+        completeVariants("rebuild", bases, matrix);
+        phaseStart = logPhase("rebuild", "variant registration", phaseStart, bases.size());
+
+        int coalesced = matrix.endRegistrationSession();
+        logPhase("rebuild", "snapshot refresh (" + coalesced + " staged refreshes coalesced)", phaseStart, baseCandidates.size());
+
+        Reshaped.LOGGER.info(
+                "[MatrixRebuilder] Rebuilt block matrix: {} bases, {} recipe associations, {} columns (snapshot: {})",
+                baseCandidates.size(),
+                associationCount,
+                matrix.getMutableMatrix().size(),
+                matrix.getMatrix().size()
+        );
+    }
+
+    /**
+     * Diff-based apply: re-associates only outputs whose recipes changed and republishes only
+     * the affected columns.
+     *
+     * @return the number of columns that were republished
+     */
+    private static int applyIncrementalRebuild(BlockMatrix matrix, RebuildState computed, RebuildState previous) {
+        Set<Block> baseCandidates = computed.baseCandidates();
+        RecipeAssociationService.AssociationIndex associationIndex = computed.associations();
+        Map<Block, RecipeAssociationService.Association> oldAssociations = previous.associations().associations();
+        Map<Block, RecipeAssociationService.Association> newAssociations = associationIndex.associations();
+        long phaseStart = System.nanoTime();
+
+        matrix.beginRegistrationSession();
+        Set<Block> changedBases = new LinkedHashSet<>();
+
+        // Removals first, so a variant that moved between bases ends up only in its new column.
+        for (Block variant : associationIndex.changedOutputs()) {
+            RecipeAssociationService.Association old = oldAssociations.get(variant);
+            if (old == null || !baseCandidates.contains(old.base()) || variant == old.base()) {
+                continue;
+            }
+            RecipeAssociationService.Association current = newAssociations.get(variant);
+            if (current == null || current.base() != old.base()) {
+                matrix.removeVariant(old.base(), variant);
+                changedBases.add(old.base());
+            }
         }
 
-        if (PENDING_REBUILD.getAndSet(false)) {
-            MinecraftServer pendingServer = PENDING_REBUILD_SERVER;
-            PENDING_REBUILD_SERVER = null;
-            if (pendingServer != null) {
-                Reshaped.LOGGER.info("[MatrixRebuilder] Processing pending rebuild");
-                rebuild(matrix, pendingServer);
+        int associationCount = 0;
+        for (Block variant : associationIndex.changedOutputs()) {
+            RecipeAssociationService.Association current = newAssociations.get(variant);
+            if (current == null || !baseCandidates.contains(current.base()) || variant == current.base()) {
+                continue;
             }
+            matrix.addVariant(current.base(), variant, false);
+            matrix.setReason(variant, current.reason());
+            changedBases.add(current.base());
+            associationCount++;
         }
+
+        // Columns that lost a recipe-associated slab/stairs may need one adopted or registered instead.
+        completeVariants("rebuild (incremental)", new ArrayList<>(changedBases), matrix);
+        phaseStart = logPhase("rebuild (incremental)", "update changed columns", phaseStart, changedBases.size());
+
+        int coalesced = matrix.endRegistrationSession(changedBases);
+        logPhase("rebuild (incremental)", "snapshot refresh (" + coalesced + " staged refreshes coalesced)", phaseStart, changedBases.size());
+
+        Reshaped.LOGGER.info(
+                "[MatrixRebuilder] Incrementally rebuilt block matrix: {} changed outputs, {} re-associated, {} of {} columns republished",
+                associationIndex.changedOutputs().size(),
+                associationCount,
+                changedBases.size(),
+                matrix.getMatrix().size()
+        );
+        return changedBases.size();
     }
 
+    private static void logBootstrapAddStats() {
+        Reshaped.LOGGER.info(
+                "[MatrixRebuilder] bootstrapAddedBlock stats since last rebuild: calls={}, skippedBusy={}, skippedNotBase={}, skippedAlreadyKnown={}, processed={}",
+                BOOTSTRAP_ADD_CALLS.get(),
+                BOOTSTRAP_ADD_SKIPPED_BUSY.get(),
+                BOOTSTRAP_ADD_SKIPPED_NOT_BASE.get(),
+                BOOTSTRAP_ADD_SKIPPED_ALREADY_KNOWN.get(),
+                BOOTSTRAP_ADD_PROCESSED.get()
+        );
+        Reshaped.LOGGER.info("[MatrixRebuilder] functional override cache: hits={}, misses={}",
+                BaseBlockFilter.getOverrideCacheHits(), BaseBlockFilter.getOverrideCacheMisses());
+    }
+
+    private static void completeVariants(String operation, List<Block> bases, BlockMatrix matrix) {
+        // Suppress the RegistryEntryAddedCallback while we register our own variant blocks.
+        Reshaped.LOGGER.info("[MatrixRebuilder] {}: setting suppressCallback = true", operation);
+        suppressCallback = true;
+        try {
+            Reshaped.LOGGER.info("[MatrixRebuilder] {}: registering variants for {} bases", operation, bases.size());
+
+            int completed = 0;
+            boolean frozen = isRegistryFrozen();
+            if (frozen) {
+                Reshaped.LOGGER.info("[MatrixRebuilder] Registry is frozen. Skipping dynamic registration pass in {}.", operation);
+            }
+
+            for (Block base : bases) {
+                try {
+                    VariantCompleter.completeVariant(base, matrix);
+                    VariantRegistry.registerAll(base, matrix);
+                    completed++;
+                } catch (Exception e) {
+                    Reshaped.LOGGER.warn("[MatrixRebuilder] {}: variant processing FAILED for base {} ({})",
+                            operation, Registries.BLOCK.getId(base), e.getMessage(), e);
+                }
+            }
+            Reshaped.LOGGER.info("[MatrixRebuilder] {}: completed variant registration for {}/{} bases", operation, completed, bases.size());
+        } finally {
+            suppressCallback = false;
+            Reshaped.LOGGER.info("[MatrixRebuilder] {}: set suppressCallback = false", operation);
+        }
+    }
     /**
      * Processes a single block registered by another mod during startup.
      */
@@ -280,9 +680,11 @@ public final class MatrixRebuilder {
             }
 
             BOOTSTRAP_ADD_PROCESSED.incrementAndGet();
+            lastRebuild = null;
             Reshaped.LOGGER.info("[MatrixRebuilder] bootstrapAddedBlock: PROCESSING new base candidate {} on thread {}",
                     candidateId, Thread.currentThread().getName());
 
+            matrix.beginRegistrationSession();
             matrix.addColumn(candidate, List.of(), false);
             matrix.setReason(candidate, "Base block selected by state-based filter");
 
@@ -298,14 +700,38 @@ public final class MatrixRebuilder {
             Reshaped.LOGGER.info("[MatrixRebuilder] bootstrapAddedBlock: registered {} variants for {}",
                     variantCount, candidateId);
 
-            matrix.refresh();
+            matrix.endRegistrationSession();
         } catch (Exception e) {
             Reshaped.LOGGER.warn("[MatrixRebuilder] Failed to add bootstrap candidate {}", candidateId, e);
         } finally {
+            matrix.abandonRegistrationSession();
             REBUILDING.set(false);
         }
     }
 
+    /**
+     * Logs how long a bootstrap/rebuild phase took, normalised per base block so
+     * that non-linear growth in the number of bases is easy to spot in the log.
+     *
+     * @return the current {@link System#nanoTime()}, to be used as the next phase start
+     */
+    private static long logPhase(String operation, String phase, long startNanos, int bases) {
+        long now = System.nanoTime();
+        long micros = (now - startNanos) / 1_000L;
+        Reshaped.LOGGER.info("[MatrixRebuilder] {}: phase '{}' took {} ms ({} bases, {} us/base)",
+                operation, phase, micros / 1_000L, bases, bases > 0 ? micros / bases : 0);
+        return now;
+    }
+
+    private record RebuildState(
+            Set<Block> baseCandidates,
+            BaseBlockFilter.FilterTags filterTags,
+            int blockRegistrySize,
+            RecipeAssociationService.AssociationIndex associations,
+            long fingerprint
+    ) {
+    }
+
     public static boolean isRegistryFrozen() {
         try {
             // In Fabric 1.20.1, SimpleRegistry (base of Registries.BLOCK) has a private boolean 'frozen' field.
@@ -0,0 +1,29 @@
+package net.f3rr3.reshaped.matrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Fork-join pool shared by the parallel matrix passes (base classification, recipe analysis).
+ * Kept separate from the common pool so matrix work never competes with other mods' tasks there.
+ */
+final class MatrixWorkerPool {
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Reshaped Matrix Worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    private MatrixWorkerPool() {
+    }
+
+    static ForkJoinPool get() {
+        return POOL;
+    }
+}
@@ -1,14 +1,20 @@
 package net.f3rr3.reshaped.matrix;
 
+import net.f3rr3.reshaped.Reshaped;
+import net.f3rr3.reshaped.config.server.ServerConfig;
 import net.minecraft.block.*;
 import net.minecraft.item.BlockItem;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.*;
+import net.minecraft.registry.DynamicRegistryManager;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.Identifier;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 public final class RecipeAssociationService {
@@ -16,36 +22,189 @@ public final class RecipeAssociationService {
     }
 
     public static Map<Block, Association> buildAssociations(MinecraftServer server, Set<Block> baseCandidates) {
-        Map<Block, List<Association>> proposals = new HashMap<>();
-        RecipeManager recipeManager = server.getRecipeManager();
+        return buildAssociationIndex(server, baseCandidates, null).associations();
+    }
+
+    /**
+     * Builds the per-recipe association index.
+     * <p>
+     * When {@code previous} is given, it must have been built against the same base candidate
+     * set. Recipes whose id and fingerprint are unchanged reuse their previous analysis, and
+     * only outputs touched by an added, removed or changed recipe are re-resolved. The
+     * affected outputs are reported through {@link AssociationIndex#changedOutputs()}.
+     */
+    public static AssociationIndex buildAssociationIndex(MinecraftServer server, Set<Block> baseCandidates, AssociationIndex previous) {
+        return buildAssociationIndex(server, baseCandidates, previous, ServerConfig.get().parallelRecipeAnalysis);
+    }
+
+    /**
+     * @param parallel analyze recipes on the shared matrix worker pool. Per-recipe results are
+     *                 merged in recipe order, so the outcome is identical to the serial path.
+     */
+    public static AssociationIndex buildAssociationIndex(MinecraftServer server, Set<Block> baseCandidates,
+                                                         AssociationIndex previous, boolean parallel) {
+        return buildAssociationIndex(server.getRecipeManager().values(), server.getRegistryManager(),
+                baseCandidates, previous, parallel);
+    }
+
+    /**
+     * Server-independent entry point; also used by the matrix benchmarks to feed synthetic recipes.
+     */
+    public static AssociationIndex buildAssociationIndex(Collection<Recipe<?>> recipeSource, DynamicRegistryManager registryManager,
+                                                         Set<Block> baseCandidates, AssociationIndex previous, boolean parallel) {
+        boolean incremental = previous != null;
+        List<Recipe<?>> recipes = new ArrayList<>(recipeSource);
+        IngredientResolver resolver = new IngredientResolver(baseCandidates, parallel);
+
+        // analyzeRecipe is a pure function of the recipe and the candidate set, so recipes can be
+        // fanned out freely; ordered toList() keeps the outcomes in recipe iteration order.
+        List<RecipeOutcome> outcomes;
+        if (parallel) {
+            outcomes = MatrixWorkerPool.get().submit(() -> recipes.parallelStream()
+                    .map(recipe -> analyzeEntry(recipe, registryManager, baseCandidates, resolver, previous))
+                    .filter(Objects::nonNull)
+                    .toList()).join();
+        } else {
+            outcomes = recipes.stream()
+                    .map(recipe -> analyzeEntry(recipe, registryManager, baseCandidates, resolver, previous))
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
 
-        for (Recipe<?> recipe : recipeManager.values()) {
-            ItemStack outputStack = recipe.getOutput(server.getRegistryManager());
-            if (outputStack.isEmpty() || !(outputStack.getItem() instanceof BlockItem outputItem)) {
-                continue;
+        Map<Identifier, RecipeEntry> entries = new HashMap<>();
+        Set<Block> changedOutputs = new HashSet<>();
+        int reused = 0;
+        for (RecipeOutcome outcome : outcomes) {
+            entries.put(outcome.id(), outcome.entry());
+            if (outcome.reused()) {
+                reused++;
+            } else if (incremental) {
+                changedOutputs.add(outcome.entry().output());
+                if (outcome.replaced() != null) {
+                    changedOutputs.add(outcome.replaced().output());
+                }
             }
+        }
 
-            Block outputBlock = outputItem.getBlock();
-            if (isIgnoredForMatrix(outputBlock)) {
-                continue;
+        if (incremental) {
+            for (Map.Entry<Identifier, RecipeEntry> oldEntry : previous.entries.entrySet()) {
+                if (!entries.containsKey(oldEntry.getKey())) {
+                    changedOutputs.add(oldEntry.getValue().output());
+                }
             }
-            if (baseCandidates.contains(outputBlock)) {
-                continue;
+        }
+
+        // Proposals are always collected in recipe order: resolveBestAssociations keeps the first of
+        // two equal-score proposals for the same base, so this order decides the reported reason.
+        Map<Block, List<Association>> proposals = new HashMap<>();
+        for (RecipeOutcome outcome : outcomes) {
+            RecipeEntry entry = outcome.entry();
+            if (entry.association() != null && (!incremental || changedOutputs.contains(entry.output()))) {
+                proposals.computeIfAbsent(entry.output(), key -> new ArrayList<>()).add(entry.association());
             }
+        }
+
+        if (!incremental) {
+            return new AssociationIndex(entries, resolveBestAssociations(proposals), Set.of());
+        }
+
+        Map<Block, Association> resolved = new HashMap<>(previous.associations);
+        resolved.keySet().removeAll(changedOutputs);
+        resolved.putAll(resolveBestAssociations(proposals));
+
+        Reshaped.LOGGER.info(
+                "[RecipeAssociationService] incremental: reused {} recipe analyses, re-resolved {} outputs",
+                reused, changedOutputs.size());
+        return new AssociationIndex(entries, resolved, Collections.unmodifiableSet(changedOutputs));
+    }
+
+    /**
+     * Filters and analyzes a single recipe, reusing the previous analysis when its fingerprint is
+     * unchanged. Returns null for recipes that can never produce an association.
+     */
+    private static RecipeOutcome analyzeEntry(Recipe<?> recipe, DynamicRegistryManager registryManager,
+                                              Set<Block> baseCandidates, IngredientResolver resolver, AssociationIndex previous) {
+        if (!isAnalyzable(recipe)) {
+            return null;
+        }
+
+        ItemStack outputStack = recipe.getOutput(registryManager);
+        if (outputStack.isEmpty() || !(outputStack.getItem() instanceof BlockItem outputItem)) {
+            return null;
+        }
+
+        Block outputBlock = outputItem.getBlock();
+        if (isIgnoredForMatrix(outputBlock)) {
+            return null;
+        }
+        if (baseCandidates.contains(outputBlock)) {
+            return null;
+        }
 
-            Association association = analyzeRecipe(recipe, outputBlock, baseCandidates);
-            if (association != null) {
-                proposals.computeIfAbsent(outputBlock, key -> new ArrayList<>()).add(association);
+        long fingerprint = fingerprint(recipe, outputStack);
+        RecipeEntry old = previous != null ? previous.entries.get(recipe.getId()) : null;
+        if (old != null && old.fingerprint() == fingerprint && old.output() == outputBlock) {
+            return new RecipeOutcome(recipe.getId(), old, null, true);
+        }
+
+        Association association = analyzeRecipe(recipe, outputBlock, resolver);
+        return new RecipeOutcome(recipe.getId(), new RecipeEntry(fingerprint, outputBlock, association), old, false);
+    }
+
+    private static boolean isAnalyzable(Recipe<?> recipe) {
+        return recipe instanceof StonecuttingRecipe
+                || recipe instanceof ShapedRecipe
+                || recipe instanceof ShapelessRecipe;
+    }
+
+    /**
+     * SHA-256 of everything {@link #analyzeRecipe} depends on besides the base candidate set:
+     * recipe kind, output, grid size and the items matched by each ingredient. Folded to a long
+     * the same way as {@link MatrixCache#computeFingerprint}; a collision would silently keep a
+     * stale analysis, so a plain polynomial hash is not enough here.
+     */
+    private static long fingerprint(Recipe<?> recipe, ItemStack outputStack) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(recipe.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        updateInt(digest, Item.getRawId(outputStack.getItem()));
+        updateInt(digest, outputStack.getCount());
+        if (recipe instanceof ShapedRecipe shapedRecipe) {
+            updateInt(digest, shapedRecipe.getWidth());
+            updateInt(digest, shapedRecipe.getHeight());
+        }
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            // Each ingredient is prefixed with its length so that [a][b] and [a, b] differ.
+            ItemStack[] stacks = ingredient.getMatchingStacks();
+            updateInt(digest, stacks.length);
+            for (ItemStack stack : stacks) {
+                updateInt(digest, Item.getRawId(stack.getItem()));
             }
         }
+        byte[] hash = digest.digest();
+        long fingerprint = 0;
+        for (int i = 0; i < 8; i++) {
+            fingerprint = (fingerprint << 8) | (hash[i] & 0xFF);
+        }
+        return fingerprint;
+    }
 
-        return resolveBestAssociations(proposals);
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
     }
 
-    private static Association analyzeRecipe(Recipe<?> recipe, Block outputBlock, Set<Block> baseCandidates) {
+    private static Association analyzeRecipe(Recipe<?> recipe, Block outputBlock, IngredientResolver resolver) {
         if (recipe instanceof StonecuttingRecipe stonecuttingRecipe) {
             Ingredient ingredient = stonecuttingRecipe.getIngredients().isEmpty() ? Ingredient.EMPTY : stonecuttingRecipe.getIngredients().get(0);
-            Block single = resolveSingleBase(ingredient, baseCandidates);
+            Block single = resolver.resolveSingleBase(ingredient);
             if (single != null) {
                 return new Association(single, "Associated via stonecutting recipe from " + Registries.BLOCK.getId(single), 90);
             }
@@ -53,17 +212,17 @@ public final class RecipeAssociationService {
         }
 
         if (recipe instanceof ShapedRecipe shapedRecipe) {
-            return analyzeShapedRecipe(shapedRecipe, outputBlock, baseCandidates);
+            return analyzeShapedRecipe(shapedRecipe, outputBlock, resolver);
         }
 
         if (recipe instanceof ShapelessRecipe shapelessRecipe) {
-            return analyzeShapelessRecipe(shapelessRecipe, outputBlock, baseCandidates);
+            return analyzeShapelessRecipe(shapelessRecipe, outputBlock, resolver);
         }
 
         return null;
     }
 
-    private static Association analyzeShapedRecipe(ShapedRecipe recipe, Block outputBlock, Set<Block> baseCandidates) {
+    private static Association analyzeShapedRecipe(ShapedRecipe recipe, Block outputBlock, IngredientResolver resolver) {
         int width = recipe.getWidth();
         int height = recipe.getHeight();
         List<Ingredient> ingredients = recipe.getIngredients();
@@ -72,7 +231,7 @@ public final class RecipeAssociationService {
 
         Map<Block, Integer> baseCounts = new HashMap<>();
         for (Ingredient ingredient : ingredients) {
-            Block base = resolveSingleBase(ingredient, baseCandidates);
+            Block base = resolver.resolveSingleBase(ingredient);
             if (base != null) {
                 baseCounts.merge(base, 1, Integer::sum);
             }
@@ -167,14 +326,14 @@ public final class RecipeAssociationService {
         return null;
     }
 
-    private static Association analyzeShapelessRecipe(ShapelessRecipe recipe, Block outputBlock, Set<Block> baseCandidates) {
+    private static Association analyzeShapelessRecipe(ShapelessRecipe recipe, Block outputBlock, IngredientResolver resolver) {
         List<Ingredient> ingredients = recipe.getIngredients();
         if (ingredients.isEmpty()) return null;
 
         String outputPath = Registries.BLOCK.getId(outputBlock).getPath();
         Map<Block, Integer> baseCounts = new HashMap<>();
         for (Ingredient ingredient : ingredients) {
-            Block base = resolveSingleBase(ingredient, baseCandidates);
+            Block base = resolver.resolveSingleBase(ingredient);
             if (base != null) {
                 baseCounts.merge(base, 1, Integer::sum);
             }
@@ -246,22 +405,57 @@ public final class RecipeAssociationService {
         return resolved;
     }
 
-    private static Block resolveSingleBase(Ingredient ingredient, Set<Block> baseCandidates) {
-        if (ingredient == null || ingredient.isEmpty()) return null;
+    /**
+     * Per-pass lookup tables for ingredient resolution. Every item's base block (including the
+     * {@code _ingot} → {@code _block} mapping) is computed once up front, and each distinct
+     * {@link Ingredient} instance is resolved once no matter how many recipes share it.
+     */
+    private static final class IngredientResolver {
+        // Blocks.AIR is never a base candidate, so it marks "resolves to no single base".
+        private static final Block NO_BASE = Blocks.AIR;
+
+        private final Map<Item, Block> itemToBase = new HashMap<>();
+        private final Map<Ingredient, Block> ingredientToBase;
+
+        private IngredientResolver(Set<Block> baseCandidates, boolean concurrent) {
+            // itemToBase is only written here, so concurrent readers only need the identity cache guarded.
+            this.ingredientToBase = concurrent
+                    ? Collections.synchronizedMap(new IdentityHashMap<>())
+                    : new IdentityHashMap<>();
+            for (Item item : Registries.ITEM) {
+                Block base = resolveCandidateBlock(item, baseCandidates);
+                if (base != null) {
+                    itemToBase.put(item, base);
+                }
+            }
+        }
+
+        Block resolveSingleBase(Ingredient ingredient) {
+            if (ingredient == null || ingredient.isEmpty()) return null;
 
-        Block resolved = null;
-        for (ItemStack stack : ingredient.getMatchingStacks()) {
-            Block block = resolveCandidateBlock(stack.getItem(), baseCandidates);
-            if (block == null) {
-                continue;
+            Block cached = ingredientToBase.get(ingredient);
+            if (cached == null) {
+                cached = computeSingleBase(ingredient);
+                ingredientToBase.put(ingredient, cached);
             }
-            if (resolved == null) {
-                resolved = block;
-            } else if (resolved != block) {
-                return null;
+            return cached == NO_BASE ? null : cached;
+        }
+
+        private Block computeSingleBase(Ingredient ingredient) {
+            Block resolved = null;
+            for (ItemStack stack : ingredient.getMatchingStacks()) {
+                Block block = itemToBase.get(stack.getItem());
+                if (block == null) {
+                    continue;
+                }
+                if (resolved == null) {
+                    resolved = block;
+                } else if (resolved != block) {
+                    return NO_BASE;
+                }
             }
+            return resolved == null ? NO_BASE : resolved;
         }
-        return resolved;
     }
 
     private static Block resolveCandidateBlock(Item item, Set<Block> baseCandidates) {
@@ -302,4 +496,38 @@ public final class RecipeAssociationService {
 
     public record Association(Block base, String reason, int score) {
     }
+
+    private record RecipeEntry(long fingerprint, Block output, Association association) {
+    }
+
+    private record RecipeOutcome(Identifier id, RecipeEntry entry, RecipeEntry replaced, boolean reused) {
+    }
+
+    /**
+     * Result of an association pass: the per-recipe analyses (kept for the next incremental
+     * pass) and the resolved variant → base associations.
+     */
+    public static final class AssociationIndex {
+        private final Map<Identifier, RecipeEntry> entries;
+        private final Map<Block, Association> associations;
+        private final Set<Block> changedOutputs;
+
+        private AssociationIndex(Map<Identifier, RecipeEntry> entries, Map<Block, Association> associations, Set<Block> changedOutputs) {
+            this.entries = entries;
+            this.associations = associations;
+            this.changedOutputs = changedOutputs;
+        }
+
+        public Map<Block, Association> associations() {
+            return associations;
+        }
+
+        /**
+         * Outputs whose association may differ from the previous index.
+         * Always empty for a full (non-incremental) pass.
+         */
+        public Set<Block> changedOutputs() {
+            return changedOutputs;
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package net.f3rr3.reshaped.mixin;
+
+import net.f3rr3.reshaped.block.SegmentOccupancyHolder;
+import net.minecraft.block.AbstractBlock;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(AbstractBlock.AbstractBlockState.class)
+public class AbstractBlockStateMixin implements SegmentOccupancyHolder {
+    @Unique
+    private int reshaped$occupancy;
+
+    @Override
+    public int reshaped$getOccupancy() {
+        return this.reshaped$occupancy;
+    }
+
+    @Override
+    public void reshaped$setOccupancy(int occupancy) {
+        this.reshaped$occupancy = occupancy;
+    }
+}
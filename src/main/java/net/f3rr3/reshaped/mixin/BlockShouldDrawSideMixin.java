@@ -3,6 +3,7 @@ package net.f3rr3.reshaped.mixin;
 import it.unimi.dsi.fastutil.objects.Object2ByteLinkedOpenHashMap;
 import net.f3rr3.reshaped.Reshaped;
 import net.f3rr3.reshaped.matrix.BlockMatrix;
+import net.f3rr3.reshaped.matrix.MatrixCullingTable;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.function.BooleanBiFunction;
@@ -14,7 +15,6 @@ import net.minecraft.world.BlockView;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -34,66 +34,59 @@ public class BlockShouldDrawSideMixin {
             BlockPos otherPos,
             CallbackInfoReturnable<Boolean> cir
     ) {
+        BlockMatrix matrix = Reshaped.MATRIX;
+        if (matrix == null) {
+            return;
+        }
+
+        // Not a reshaped matrix pair: keep vanilla culling behavior.
+        // Returning here (without setting cir) lets the original method run.
+        MatrixCullingTable table = MatrixCullingTable.get(matrix);
+        int column = table.columnOf(state);
+        if (column < 0) {
+            return;
+        }
         BlockState blockState = world.getBlockState(otherPos);
+        if (table.columnOf(blockState) != column) {
+            return;
+        }
+
         if (state.isSideInvisible(blockState, side)) {
             cir.setReturnValue(false);
             return;
         }
 
-        if (sameMatrixGroup(state.getBlock(), blockState.getBlock())) {
-            Block.NeighborGroup neighborGroup = new Block.NeighborGroup(state, blockState, side);
-            Object2ByteLinkedOpenHashMap<Block.NeighborGroup> cache =
-                    FACE_CULL_MAP.get();
-
-            byte cached = cache.getAndMoveToFirst(neighborGroup);
-            if (cached != 127) {
-                cir.setReturnValue(cached != 0);
-                return;
-            }
-
-            VoxelShape selfFace = state.getCullingFace(world, pos, side);
-            if (selfFace.isEmpty()) {
-                cir.setReturnValue(true);
-                return;
-            }
-
-            VoxelShape otherFace = blockState.getCullingFace(world, otherPos, side.getOpposite());
-            boolean shouldDraw = VoxelShapes.matchesAnywhere(selfFace, otherFace, BooleanBiFunction.ONLY_FIRST);
-
-            if (cache.size() == 2048) {
-                cache.removeLastByte();
-            }
-            cache.putAndMoveToFirst(neighborGroup, (byte) (shouldDraw ? 1 : 0));
-
-            cir.setReturnValue(shouldDraw);
+        int precomputed = table.shouldDrawSide(state, blockState, side);
+        if (precomputed >= 0) {
+            cir.setReturnValue(precomputed != 0);
+            return;
         }
 
-        // Not a reshaped matrix pair: keep vanilla culling behavior.
-        // Returning here (without setting cir) lets the original method run.
-    }
+        // Position-dependent shapes are not in the table; cull them the way vanilla does.
+        Block.NeighborGroup neighborGroup = new Block.NeighborGroup(state, blockState, side);
+        Object2ByteLinkedOpenHashMap<Block.NeighborGroup> cache =
+                FACE_CULL_MAP.get();
 
-    @Unique
-    private static boolean sameMatrixGroup(Block self, Block neighbor) {
-        BlockMatrix matrix = Reshaped.MATRIX;
-        if (matrix == null) {
-            return false;
-        }
-        if (!matrix.hasBlock(self) && !matrix.hasBlock(neighbor)) {
-            return false;
-        }
-        if (self == neighbor) {
-            return true;
+        byte cached = cache.getAndMoveToFirst(neighborGroup);
+        if (cached != 127) {
+            cir.setReturnValue(cached != 0);
+            return;
         }
 
-        Block selfBase = matrix.getBaseBlock(self);
-        Block neighborBase = matrix.getBaseBlock(neighbor);
-        if (selfBase == null) {
-            selfBase = self;
+        VoxelShape selfFace = state.getCullingFace(world, pos, side);
+        if (selfFace.isEmpty()) {
+            cir.setReturnValue(true);
+            return;
         }
-        if (neighborBase == null) {
-            neighborBase = neighbor;
+
+        VoxelShape otherFace = blockState.getCullingFace(world, otherPos, side.getOpposite());
+        boolean shouldDraw = VoxelShapes.matchesAnywhere(selfFace, otherFace, BooleanBiFunction.ONLY_FIRST);
+
+        if (cache.size() == 2048) {
+            cache.removeLastByte();
         }
+        cache.putAndMoveToFirst(neighborGroup, (byte) (shouldDraw ? 1 : 0));
 
-        return selfBase == neighborBase;
+        cir.setReturnValue(shouldDraw);
     }
 }
@@ -0,0 +1,14 @@
+package net.f3rr3.reshaped.mixin.client;
+
+import com.google.gson.Gson;
+import net.minecraft.client.render.model.json.JsonUnbakedModel;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(JsonUnbakedModel.class)
+public interface JsonUnbakedModelAccessor {
+    @Accessor("GSON")
+    static Gson getGson() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -17,10 +17,4 @@ public interface BlockVariantType {
      * Registers the variant for the given base block if it hasn't been registered yet.
      */
     void register(Block baseBlock, BlockMatrix matrix);
-
-    /**
-     * Generates the model JSON content for a specific path.
-     * Returns null if this variant doesn't handle the path.
-     */
-    String generateModelJson(String path, Block block);
 }
@@ -3,7 +3,6 @@ package net.f3rr3.reshaped.registry;
 import net.f3rr3.reshaped.Reshaped;
 import net.f3rr3.reshaped.block.Step.OxidizableStepBlock;
 import net.f3rr3.reshaped.block.Step.StepBlock;
-import net.f3rr3.reshaped.client.RuntimeResourceGenerator;
 import net.f3rr3.reshaped.matrix.BlockMatrix;
 import net.f3rr3.reshaped.matrix.MatrixRebuilder;
 import net.fabricmc.fabric.api.registry.FlammableBlockRegistry;
@@ -41,7 +40,7 @@ public class StepVariant implements BlockVariantType {
 
         Block existingAtId = Registries.BLOCK.get(id);
         if (existingAtId != Blocks.AIR) {
-            Block existingBase = matrix.getBaseBlock(existingAtId);
+            Block existingBase = matrix.getPendingBaseBlock(existingAtId);
             if (existingBase != null && existingBase != baseBlock) {
                 path = baseId.getNamespace() + "_" + baseId.getPath() + "_step";
                 id = new Identifier(Reshaped.MOD_ID, path);
@@ -136,34 +135,4 @@ public class StepVariant implements BlockVariantType {
         } catch (Exception ignored) {
         }
     }
-
-    @Override
-    public String generateModelJson(String path, Block block) {
-        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
-        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
-        if (cleanPath.contains("_step") && !cleanPath.contains("_vertical_step")) {
-            // Check for segment mask (e.g. "_1010")
-            // Default to single segment (1000 - Down Front) if no mask found
-            String mask = RuntimeResourceGenerator.extractMaskSuffix(cleanPath);
-            boolean[] segments = RuntimeResourceGenerator.parseMaskOrDefault(mask, true, false, false, false);
-
-            Block targetBlock = RuntimeResourceGenerator.resolveBlockForPath(cleanPath, block);
-            Block baseBlock = Reshaped.MATRIX.getBaseBlock(targetBlock);
-            if (baseBlock != null) {
-                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
-                StepBlock.StepAxis axis = RuntimeResourceGenerator.extractStepAxis(cleanPath);
-                if (axis == null) axis = StepBlock.StepAxis.EAST_WEST;
-
-                return RuntimeResourceGenerator.generateStepModelForSegments(
-                        axis,
-                        segments[0],
-                        segments[1],
-                        segments[2],
-                        segments[3],
-                        textures
-                );
-            }
-        }
-        return null;
-    }
 }
@@ -14,14 +14,27 @@ import net.minecraft.registry.Registry;
 import net.minecraft.util.Identifier;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public final class VariantCompleter {
     private VariantCompleter() {
     }
 
+    /**
+     * Rebuilds the slab/stairs name index in one registry pass.
+     * Called once at the start of every bootstrap/rebuild.
+     */
+    public static void rebuildIndex() {
+        VariantNameIndex.rebuild();
+    }
+
+    /**
+     * Keeps the slab/stairs name index current when another mod registers a block.
+     */
+    public static void onBlockRegistered(Identifier id, Block block) {
+        VariantNameIndex.onBlockRegistered(id, block);
+    }
+
     public static void completeVariant(Block base, BlockMatrix matrix) {
         if (base == null || base == Blocks.AIR) return;
 
@@ -109,30 +122,27 @@ public final class VariantCompleter {
 
     private static Block findExistingVariant(String baseName, String suffix, String baseNamespace) {
         List<String> variantsToTry = getVariantsToTry(baseName, suffix);
+        VariantNameIndex index = VariantNameIndex.get();
 
         for (String candidatePath : variantsToTry) {
-            Identifier id = new Identifier(baseNamespace, candidatePath);
-            Block block = Registries.BLOCK.get(id);
-            if (block != Blocks.AIR && isValidVariant(block, suffix)) {
+            Block block = index.find(suffix, baseNamespace, candidatePath);
+            if (block != null && isValidVariant(block, suffix)) {
                 return block;
             }
         }
 
         if (!baseNamespace.equals("minecraft")) {
             for (String candidatePath : variantsToTry) {
-                Identifier id = new Identifier("minecraft", candidatePath);
-                Block block = Registries.BLOCK.get(id);
-                if (block != Blocks.AIR && isValidVariant(block, suffix)) {
+                Block block = index.find(suffix, "minecraft", candidatePath);
+                if (block != null && isValidVariant(block, suffix)) {
                     return block;
                 }
             }
         }
 
-        Set<String> targetPaths = new HashSet<>(variantsToTry);
-        for (Identifier id : Registries.BLOCK.getIds()) {
-            if (!targetPaths.contains(id.getPath())) continue;
-            Block block = Registries.BLOCK.get(id);
-            if (block != Blocks.AIR && isValidVariant(block, suffix)) {
+        for (String candidatePath : variantsToTry) {
+            Block block = index.findAnyNamespace(suffix, candidatePath);
+            if (block != null && isValidVariant(block, suffix)) {
                 return block;
             }
         }
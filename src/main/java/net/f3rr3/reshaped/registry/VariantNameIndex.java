@@ -0,0 +1,113 @@
+package net.f3rr3.reshaped.registry;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.minecraft.block.Block;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Path-keyed index of every registered {@link SlabBlock} and {@link StairsBlock}.
+ * <p>
+ * {@link VariantCompleter} used to walk {@code Registries.BLOCK.getIds()} once per base
+ * block per suffix to find an existing slab/stairs in any namespace. This index is built
+ * in a single registry pass per bootstrap/rebuild and kept up to date as new blocks are
+ * registered, so each lookup is a hash probe plus a scan of the (usually 1-element)
+ * list of namespaces sharing that path.
+ */
+final class VariantNameIndex {
+    private static volatile VariantNameIndex current;
+
+    private final Map<String, List<Entry>> slabsByPath = new ConcurrentHashMap<>();
+    private final Map<String, List<Entry>> stairsByPath = new ConcurrentHashMap<>();
+
+    private VariantNameIndex() {
+    }
+
+    /**
+     * Rebuilds the index from the full block registry. Called once per bootstrap/rebuild.
+     */
+    static void rebuild() {
+        long start = System.nanoTime();
+        VariantNameIndex index = new VariantNameIndex();
+        for (Identifier id : Registries.BLOCK.getIds()) {
+            index.add(id, Registries.BLOCK.get(id));
+        }
+        current = index;
+        Reshaped.LOGGER.info("[VariantNameIndex] rebuilt: {} slab paths, {} stairs paths in {} ms",
+                index.slabsByPath.size(), index.stairsByPath.size(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Incrementally records a newly registered block. A no-op until the first
+     * {@link #rebuild()}, since that pass will pick the block up anyway.
+     */
+    static void onBlockRegistered(Identifier id, Block block) {
+        VariantNameIndex index = current;
+        if (index != null) {
+            index.add(id, block);
+        }
+    }
+
+    static VariantNameIndex get() {
+        VariantNameIndex index = current;
+        if (index == null) {
+            rebuild();
+            index = current;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the first indexed variant of the given kind at {@code namespace:path}, or null.
+     */
+    Block find(String suffix, String namespace, String path) {
+        List<Entry> entries = byPath(suffix).get(path);
+        if (entries == null) return null;
+        for (Entry entry : entries) {
+            if (entry.namespace().equals(namespace)) {
+                return entry.block();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first indexed variant of the given kind at {@code path} in any namespace, or null.
+     */
+    Block findAnyNamespace(String suffix, String path) {
+        List<Entry> entries = byPath(suffix).get(path);
+        return entries == null || entries.isEmpty() ? null : entries.get(0).block();
+    }
+
+    private void add(Identifier id, Block block) {
+        Map<String, List<Entry>> target;
+        if (block instanceof SlabBlock) {
+            target = slabsByPath;
+        } else if (block instanceof StairsBlock) {
+            target = stairsByPath;
+        } else {
+            return;
+        }
+        List<Entry> entries = target.computeIfAbsent(id.getPath(), k -> new CopyOnWriteArrayList<>());
+        for (Entry entry : entries) {
+            if (entry.block() == block) return;
+        }
+        entries.add(new Entry(id.getNamespace(), block));
+    }
+
+    private Map<String, List<Entry>> byPath(String suffix) {
+        if ("slab".equals(suffix)) return slabsByPath;
+        if ("stairs".equals(suffix)) return stairsByPath;
+        return Map.of();
+    }
+
+    private record Entry(String namespace, Block block) {
+    }
+}
@@ -27,14 +27,6 @@ public class VariantRegistry {
     }
 
 
-    public static String generateModelJson(String path, Block block) {
-        for (BlockVariantType variant : VARIANTS) {
-            String json = variant.generateModelJson(path, block);
-            if (json != null) return json;
-        }
-        return null;
-    }
-
     public static List<BlockVariantType> getVariants() {
         return VARIANTS;
     }
@@ -3,7 +3,6 @@ package net.f3rr3.reshaped.registry;
 import net.f3rr3.reshaped.Reshaped;
 import net.f3rr3.reshaped.block.VerticalSlab.OxidizableVerticalSlabBlock;
 import net.f3rr3.reshaped.block.VerticalSlab.VerticalSlabBlock;
-import net.f3rr3.reshaped.client.RuntimeResourceGenerator;
 import net.f3rr3.reshaped.matrix.BlockMatrix;
 import net.f3rr3.reshaped.matrix.MatrixRebuilder;
 import net.fabricmc.fabric.api.registry.FlammableBlockRegistry;
@@ -44,7 +43,7 @@ public class VerticalSlabVariant implements BlockVariantType {
         // Check if this ID is already taken by a block for a DIFFERENT base block
         Block existingAtId = Registries.BLOCK.get(id);
         if (existingAtId != Blocks.AIR) {
-            Block existingBase = matrix.getBaseBlock(existingAtId);
+            Block existingBase = matrix.getPendingBaseBlock(existingAtId);
             if (existingBase != null && existingBase != baseBlock) {
                 // Collision! Fallback to namespace-prefixed name
                 path = baseId.getNamespace() + "_" + baseId.getPath() + "_vertical_slab";
@@ -148,18 +147,4 @@ public class VerticalSlabVariant implements BlockVariantType {
         } catch (Exception ignored) {
         }
     }
-
-    @Override
-    public String generateModelJson(String path, Block block) {
-        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
-        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
-        if (cleanPath.contains("_vertical_slab")) {
-            Block baseBlock = Reshaped.MATRIX.getBaseBlock(block);
-            if (baseBlock != null) {
-                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
-                return RuntimeResourceGenerator.generateModelFromTemplate("block/vertical_slab", textures);
-            }
-        }
-        return null;
-    }
 }
@@ -3,7 +3,6 @@ package net.f3rr3.reshaped.registry;
 import net.f3rr3.reshaped.Reshaped;
 import net.f3rr3.reshaped.block.VericalStairs.OxidizableVerticalStairsBlock;
 import net.f3rr3.reshaped.block.VericalStairs.VerticalStairsBlock;
-import net.f3rr3.reshaped.client.RuntimeResourceGenerator;
 import net.f3rr3.reshaped.matrix.BlockMatrix;
 import net.f3rr3.reshaped.matrix.MatrixRebuilder;
 import net.fabricmc.fabric.api.registry.FlammableBlockRegistry;
@@ -42,7 +41,7 @@ public class VerticalStairsVariant implements BlockVariantType {
         // Collision Check
         Block existingAtId = Registries.BLOCK.get(id);
         if (existingAtId != Blocks.AIR) {
-            Block existingBase = matrix.getBaseBlock(existingAtId);
+            Block existingBase = matrix.getPendingBaseBlock(existingAtId);
             if (existingBase != null && existingBase != baseBlock) {
                 path = baseId.getNamespace() + "_" + baseId.getPath() + "_vertical_stairs";
                 id = new Identifier(Reshaped.MOD_ID, path);
@@ -138,21 +137,4 @@ public class VerticalStairsVariant implements BlockVariantType {
         } catch (Exception ignored) {
         }
     }
-
-    @Override
-    public String generateModelJson(String path, Block block) {
-        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
-        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
-        if (cleanPath.contains("_vertical_stairs")) {
-            Block baseBlock = Reshaped.MATRIX.getBaseBlock(block);
-            if (baseBlock != null) {
-                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
-                String template = RuntimeResourceGenerator.isTransparentBlock(baseBlock)
-                        ? "block/transparent/verical_stairs"
-                        : "block/verical_stairs";
-                return RuntimeResourceGenerator.generateModelFromTemplate(template, textures);
-            }
-        }
-        return null;
-    }
 }
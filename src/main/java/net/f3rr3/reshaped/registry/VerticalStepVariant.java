@@ -3,7 +3,6 @@ package net.f3rr3.reshaped.registry;
 import net.f3rr3.reshaped.Reshaped;
 import net.f3rr3.reshaped.block.VerticalStep.OxidizableVerticalStepBlock;
 import net.f3rr3.reshaped.block.VerticalStep.VerticalStepBlock;
-import net.f3rr3.reshaped.client.RuntimeResourceGenerator;
 import net.f3rr3.reshaped.matrix.BlockMatrix;
 import net.f3rr3.reshaped.matrix.MatrixRebuilder;
 import net.fabricmc.fabric.api.registry.FlammableBlockRegistry;
@@ -41,7 +40,7 @@ public class VerticalStepVariant implements BlockVariantType {
 
         Block existingAtId = Registries.BLOCK.get(id);
         if (existingAtId != Blocks.AIR) {
-            Block existingBase = matrix.getBaseBlock(existingAtId);
+            Block existingBase = matrix.getPendingBaseBlock(existingAtId);
             if (existingBase != null && existingBase != baseBlock) {
                 path = baseId.getNamespace() + "_" + baseId.getPath() + "_vertical_step";
                 id = new Identifier(Reshaped.MOD_ID, path);
@@ -136,30 +135,4 @@ public class VerticalStepVariant implements BlockVariantType {
         } catch (Exception ignored) {
         }
     }
-
-    @Override
-    public String generateModelJson(String path, Block block) {
-        String cleanPath = RuntimeResourceGenerator.stripRandomVariantSuffix(path);
-        int randomIndex = RuntimeResourceGenerator.extractRandomVariantIndex(path);
-        if (cleanPath.contains("_vertical_step")) {
-            // Check for segment mask (e.g. "_1010")
-            // Default to single segment (1000 - North West) if no mask found
-            String maskString = RuntimeResourceGenerator.extractMaskSuffix(cleanPath);
-            boolean[] segments = RuntimeResourceGenerator.parseMaskOrDefault(maskString, true, false, false, false);
-
-            Block targetBlock = RuntimeResourceGenerator.resolveBlockForPath(cleanPath, block);
-            Block baseBlock = Reshaped.MATRIX.getBaseBlock(targetBlock);
-            if (baseBlock != null) {
-                Map<String, String> textures = RuntimeResourceGenerator.getModelTextures(baseBlock, randomIndex);
-                return RuntimeResourceGenerator.generateVerticalStepModelForSegments(
-                        segments[0],
-                        segments[1],
-                        segments[2],
-                        segments[3],
-                        textures
-                );
-            }
-        }
-        return null;
-    }
 }
@@ -0,0 +1,139 @@
+package net.f3rr3.reshaped.matrix;
+
+import net.f3rr3.reshaped.fixtures.SyntheticRegistry;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.Registries;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The parallel recipe pass must produce exactly what the serial pass does, including for outputs
+ * that several bases compete for.
+ */
+class RecipeAssociationServiceTest {
+    private static final int RUNS = 20;
+    private static final Block[] CONTEST_BASES = new Block[8];
+    private static final List<Recipe<?>> CONTESTED = new ArrayList<>();
+
+    private static SyntheticRegistry registry;
+    private static Set<Block> baseCandidates;
+    // Slab recipes from two bases (equal score) plus stonecutting from a third: no winner.
+    private static Block tiedSlab;
+    // Stonecutting from one base, a slab recipe from another: the slab recipe wins on score.
+    private static Block outscoredSlab;
+    // Stonecutting from every contest base: an eight-way tie, no winner.
+    private static Block tiedStairs;
+    // Stonecutting and a stairs recipe from the same base: that base, with the stairs reason.
+    private static Block sameBaseStairs;
+
+    @BeforeAll
+    static void setup() {
+        registry = SyntheticRegistry.populate(2000);
+        baseCandidates = new HashSet<>(registry.bases);
+
+        for (int i = 0; i < CONTEST_BASES.length; i++) {
+            CONTEST_BASES[i] = SyntheticRegistry.registerBlock("contest_" + i, new Block(AbstractBlock.Settings.create()));
+            baseCandidates.add(CONTEST_BASES[i]);
+        }
+        Block a = CONTEST_BASES[0];
+        Block b = CONTEST_BASES[1];
+        Block c = CONTEST_BASES[2];
+
+        tiedSlab = SyntheticRegistry.registerBlock("contest_tied_slab", new SlabBlock(AbstractBlock.Settings.create()));
+        CONTESTED.add(SyntheticRegistry.slabRecipe("contest_tied_slab_a", a, tiedSlab));
+        CONTESTED.add(SyntheticRegistry.slabRecipe("contest_tied_slab_b", b, tiedSlab));
+        CONTESTED.add(SyntheticRegistry.stonecutting("contest_tied_slab_c", c, tiedSlab));
+
+        outscoredSlab = SyntheticRegistry.registerBlock("contest_outscored_slab", new SlabBlock(AbstractBlock.Settings.create()));
+        CONTESTED.add(SyntheticRegistry.stonecutting("contest_outscored_slab_a", a, outscoredSlab));
+        CONTESTED.add(SyntheticRegistry.slabRecipe("contest_outscored_slab_b", b, outscoredSlab));
+
+        tiedStairs = SyntheticRegistry.registerBlock("contest_tied_stairs",
+                new StairsBlock(a.getDefaultState(), AbstractBlock.Settings.create()));
+        for (int i = 0; i < CONTEST_BASES.length; i++) {
+            CONTESTED.add(SyntheticRegistry.stonecutting("contest_tied_stairs_" + i, CONTEST_BASES[i], tiedStairs));
+        }
+
+        sameBaseStairs = SyntheticRegistry.registerBlock("contest_same_base_stairs",
+                new StairsBlock(c.getDefaultState(), AbstractBlock.Settings.create()));
+        CONTESTED.add(SyntheticRegistry.stonecutting("contest_same_base_stairs_cut", c, sameBaseStairs));
+        CONTESTED.add(SyntheticRegistry.stairsRecipe("contest_same_base_stairs", c, sameBaseStairs));
+    }
+
+    @Test
+    void parallelPassMatchesSerialPass() {
+        List<Recipe<?>> recipes = new ArrayList<>(registry.recipes);
+        recipes.addAll(CONTESTED);
+        Map<Block, RecipeAssociationService.Association> serial = build(recipes, false);
+        Map<Block, RecipeAssociationService.Association> parallel = build(recipes, true);
+
+        assertFalse(serial.isEmpty(), "synthetic recipes produced no associations");
+        assertSameAssociations(serial, parallel);
+    }
+
+    @Test
+    void contestedOutputsResolveToTheSameWinnerEveryRun() {
+        Random random = new Random(42);
+        for (int run = 0; run < RUNS; run++) {
+            // Contested recipes are interleaved with the bulk set so they land in different parallel chunks.
+            List<Recipe<?>> recipes = new ArrayList<>(registry.recipes);
+            recipes.addAll(CONTESTED);
+            Collections.shuffle(recipes, random);
+
+            Map<Block, RecipeAssociationService.Association> serial = build(recipes, false);
+            Map<Block, RecipeAssociationService.Association> parallel = build(recipes, true);
+            assertSameAssociations(serial, parallel);
+
+            for (Map<Block, RecipeAssociationService.Association> associations : List.of(serial, parallel)) {
+                assertNull(associations.get(tiedSlab), "tied slab must stay unassociated (run " + run + ")");
+                assertNull(associations.get(tiedStairs), "tied stairs must stay unassociated (run " + run + ")");
+
+                RecipeAssociationService.Association outscored = associations.get(outscoredSlab);
+                assertNotNull(outscored, "outscored slab (run " + run + ")");
+                assertEquals(CONTEST_BASES[1], outscored.base(), "run " + run);
+
+                RecipeAssociationService.Association sameBase = associations.get(sameBaseStairs);
+                assertNotNull(sameBase, "same-base stairs (run " + run + ")");
+                assertEquals(CONTEST_BASES[2], sameBase.base(), "run " + run);
+                assertEquals("Associated via stairs-shaped recipe", sameBase.reason(), "run " + run);
+            }
+        }
+    }
+
+    private static Map<Block, RecipeAssociationService.Association> build(List<Recipe<?>> recipes, boolean parallel) {
+        return RecipeAssociationService.buildAssociationIndex(
+                recipes, DynamicRegistryManager.EMPTY, baseCandidates, null, parallel).associations();
+    }
+
+    private static void assertSameAssociations(Map<Block, RecipeAssociationService.Association> serial,
+                                               Map<Block, RecipeAssociationService.Association> parallel) {
+        assertEquals(serial.keySet(), parallel.keySet());
+        for (Map.Entry<Block, RecipeAssociationService.Association> entry : serial.entrySet()) {
+            RecipeAssociationService.Association expected = entry.getValue();
+            RecipeAssociationService.Association actual = parallel.get(entry.getKey());
+            String id = Registries.BLOCK.getId(entry.getKey()).toString();
+            assertNotNull(actual, id);
+            assertEquals(expected.base(), actual.base(), id);
+            assertEquals(expected.reason(), actual.reason(), id);
+            assertEquals(expected.score(), actual.score(), id);
+        }
+    }
+}
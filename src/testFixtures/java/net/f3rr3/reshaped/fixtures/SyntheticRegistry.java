@@ -0,0 +1,188 @@
+package net.f3rr3.reshaped.fixtures;
+
+import net.f3rr3.reshaped.Reshaped;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.*;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.recipe.StonecuttingRecipe;
+import net.minecraft.recipe.book.CraftingRecipeCategory;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.SimpleRegistry;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Hand;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Bootstraps vanilla registries outside of Fabric and appends a synthetic mod's worth of blocks.
+ * <p>
+ * Blocks are registered in groups of four: a full-cube base, its slab, its stairs, and a block
+ * the filter must reject (alternating a functional override and a pillar). Everything goes into
+ * the {@code minecraft} namespace so {@code BaseBlockFilter}'s per-rejection logging for modded
+ * blocks stays out of the measurement.
+ * <p>
+ * Shared by the JMH benchmarks and the unit tests. JMH forks a fresh JVM per parameter set and the
+ * tests run in a single JVM with one block count, so each JVM populates the registry exactly once.
+ */
+public final class SyntheticRegistry {
+    private static SyntheticRegistry instance;
+    private static boolean bootstrapped;
+
+    public final int blockCount;
+    public final List<Block> bases = new ArrayList<>();
+    public final List<Block> slabs = new ArrayList<>();
+    public final List<Block> stairs = new ArrayList<>();
+    public final List<Recipe<?>> recipes = new ArrayList<>();
+
+    private SyntheticRegistry(int blockCount) {
+        this.blockCount = blockCount;
+    }
+
+    public static synchronized SyntheticRegistry populate(int blockCount) {
+        if (instance != null) {
+            if (instance.blockCount != blockCount) {
+                throw new IllegalStateException("Registry already populated with " + instance.blockCount + " blocks");
+            }
+            return instance;
+        }
+
+        bootstrap();
+        Reshaped.LOGGER.debug("[SyntheticRegistry] populating {} blocks", blockCount);
+
+        SyntheticRegistry registry = new SyntheticRegistry(blockCount);
+        for (int i = 0; i < blockCount / 4; i++) {
+            String name = "bench_" + i;
+            Block base = register(name, new Block(AbstractBlock.Settings.create().strength(1.5f)));
+            registry.bases.add(base);
+            Block slab = register(name + "_slab", new SlabBlock(AbstractBlock.Settings.copy(base)));
+            registry.slabs.add(slab);
+            Block stair = register(name + "_stairs", new StairsBlock(base.getDefaultState(), AbstractBlock.Settings.copy(base)));
+            registry.stairs.add(stair);
+            register(name + "_rejected", i % 2 == 0
+                    ? new InteractiveBlock(AbstractBlock.Settings.create())
+                    : new PillarBlock(AbstractBlock.Settings.create()));
+
+            registry.recipes.add(stonecutting(name + "_slab_from_stonecutting", base, slab));
+            registry.recipes.add(slabRecipe(name + "_slab", base, slab));
+            registry.recipes.add(stairsRecipe(name + "_stairs", base, stair));
+        }
+
+        // Tags are normally bound by datapack loading; bind them empty so isIn() works.
+        Registries.BLOCK.clearTags();
+        Registries.ITEM.clearTags();
+        instance = registry;
+        return registry;
+    }
+
+    /**
+     * Bootstraps vanilla and leaves BLOCK/ITEM/BLOCK_ENTITY_TYPE open, so benchmarks can also
+     * construct unregistered blocks (block constructors create intrusive registry entries).
+     */
+    public static synchronized void bootstrap() {
+        if (bootstrapped) return;
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        unfreeze(Registries.BLOCK);
+        unfreeze(Registries.ITEM);
+        unfreeze(Registries.BLOCK_ENTITY_TYPE);
+        // Reshaped's static mixed blocks create intrusive entries; initialize them while that is allowed.
+        Reshaped.LOGGER.debug("[SyntheticRegistry] registries unfrozen");
+        bootstrapped = true;
+    }
+
+    /**
+     * Registers one extra block and its item, for benchmarks that need specific block types.
+     */
+    public static synchronized Block registerBlock(String path, Block block) {
+        bootstrap();
+        return register(path, block);
+    }
+
+    private static Block register(String path, Block block) {
+        Identifier id = new Identifier(path);
+        Registry.register(Registries.BLOCK, id, block);
+        Registry.register(Registries.ITEM, id, new BlockItem(block, new Item.Settings()));
+        return block;
+    }
+
+    /**
+     * Stonecutting {@code input} into two {@code output}.
+     */
+    public static Recipe<?> stonecutting(String name, Block input, Block output) {
+        return new StonecuttingRecipe(new Identifier("bench", name), "", Ingredient.ofItems(input), new ItemStack(output, 2));
+    }
+
+    /**
+     * The 3x1 slab pattern of {@code input}, making six {@code slab}.
+     */
+    public static Recipe<?> slabRecipe(String name, Block input, Block slab) {
+        Ingredient ingredient = Ingredient.ofItems(input);
+        return new ShapedRecipe(new Identifier("bench", name), "", CraftingRecipeCategory.BUILDING,
+                3, 1, DefaultedList.copyOf(Ingredient.EMPTY, ingredient, ingredient, ingredient), new ItemStack(slab, 6));
+    }
+
+    /**
+     * The 3x3 stairs pattern of {@code input}, making four {@code stairs}.
+     */
+    public static Recipe<?> stairsRecipe(String name, Block input, Block stairs) {
+        return new ShapedRecipe(new Identifier("bench", name), "", CraftingRecipeCategory.BUILDING,
+                3, 3, stairsPattern(Ingredient.ofItems(input)), new ItemStack(stairs, 4));
+    }
+
+    private static DefaultedList<Ingredient> stairsPattern(Ingredient base) {
+        Ingredient e = Ingredient.EMPTY;
+        return DefaultedList.copyOf(Ingredient.EMPTY,
+                base, e, e,
+                base, base, e,
+                base, base, base);
+    }
+
+    /**
+     * Reopens a frozen vanilla registry for registration, as Fabric's registry sync does.
+     */
+    private static void unfreeze(Registry<?> registry) {
+        try {
+            Field frozen = SimpleRegistry.class.getDeclaredField("frozen");
+            frozen.setAccessible(true);
+            frozen.setBoolean(registry, false);
+
+            Field intrusive = SimpleRegistry.class.getDeclaredField("intrusiveValueToEntry");
+            intrusive.setAccessible(true);
+            if (intrusive.get(registry) == null) {
+                intrusive.set(registry, new IdentityHashMap<>());
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot unfreeze " + registry, e);
+        }
+    }
+
+    /**
+     * Stands in for modded blocks with right-click behaviour, which the functional-override check rejects.
+     */
+    private static final class InteractiveBlock extends Block {
+        private InteractiveBlock(Settings settings) {
+            super(settings);
+        }
+
+        @Override
+        public ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, Hand hand, BlockHitResult hit) {
+            return ActionResult.SUCCESS;
+        }
+    }
+}